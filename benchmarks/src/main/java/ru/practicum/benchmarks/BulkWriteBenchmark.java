@@ -0,0 +1,116 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.main_service.comment.model.Comment;
+import ru.practicum.main_service.comment.repository.CommentRepository;
+import ru.practicum.main_service.event.repository.EventRepository;
+import ru.practicum.main_service.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Inserts and updates of many rows in one transaction through JPA, with and without JDBC batching.
+ * Sequence ids let Hibernate batch the inserts, with identity columns every insert is its own round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkWriteBenchmark {
+    private static final int EVENTS = 1_000;
+
+    @Param({"0", "50"})
+    int batchSize;
+
+    @Param({"100", "1000"})
+    int rows;
+
+    ConfigurableApplicationContext ewm;
+    TransactionTemplate transaction;
+    JdbcTemplate jdbc;
+    CommentRepository commentRepository;
+    UserRepository userRepository;
+    EventRepository eventRepository;
+    List<Long> seededCommentIds;
+    long lastSeededCommentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ewm = ServiceContexts.startEwmWithJdbcBatchSize(batchSize);
+        DataSeeder.seedEvents(ewm, EVENTS);
+
+        transaction = new TransactionTemplate(ewm.getBean(PlatformTransactionManager.class));
+        jdbc = new JdbcTemplate(ewm.getBean(DataSource.class));
+        commentRepository = ewm.getBean(CommentRepository.class);
+        userRepository = ewm.getBean(UserRepository.class);
+        eventRepository = ewm.getBean(EventRepository.class);
+
+        lastSeededCommentId = jdbc.queryForObject("SELECT MAX(id) FROM comments", Long.class);
+        seededCommentIds = LongStream.rangeClosed(1, Math.min(rows, lastSeededCommentId)).boxed()
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedComments() {
+        jdbc.update("DELETE FROM comments WHERE id > ?", lastSeededCommentId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ewm.close();
+    }
+
+    @Benchmark
+    public List<Comment> insertComments() {
+        return transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Comment> comments = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                comments.add(Comment.builder()
+                        .text("Bulk comment " + i)
+                        .author(userRepository.getReferenceById((long) (i % 100 + 1)))
+                        .event(eventRepository.getReferenceById((long) (i % EVENTS + 1)))
+                        .createdOn(now)
+                        .build());
+            }
+            return commentRepository.saveAll(comments);
+        });
+    }
+
+    @Benchmark
+    public List<Comment> updateComments() {
+        return transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Comment> comments = commentRepository.findAllById(seededCommentIds);
+            comments.forEach(comment -> {
+                comment.setText("Edited at " + now);
+                comment.setEditedOn(now);
+            });
+            return comments;
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.benchmarks;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.main_service.event.geo.GeoHash;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the benchmark databases with plain JDBC batches, which is much faster than going through the services.
+ * The data is deterministic, so runs with the same parameters are comparable.
+ */
+final class DataSeeder {
+    static final int CATEGORIES = 10;
+    static final String APP = "main-service";
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final String[] WORDS = {"concert", "jazz", "rock", "lecture", "workshop", "festival", "tour", "movie"};
+
+    private DataSeeder() {
+    }
+
+    static void seedEvents(ConfigurableApplicationContext ewm, int events) {
+        JdbcTemplate jdbc = jdbcTemplate(ewm);
+        LocalDateTime now = LocalDateTime.now();
+        int users = Math.max(10, events / 10);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            rows.add(new Object[]{(long) i, "user" + i + "@mail.ru", "User " + i});
+        }
+        insert(jdbc, "INSERT INTO users (id, email, name) VALUES (?, ?, ?)", rows);
+
+        for (int i = 1; i <= CATEGORIES; i++) {
+            rows.add(new Object[]{(long) i, "category " + i});
+        }
+        insert(jdbc, "INSERT INTO categories (id, name) VALUES (?, ?)", rows);
+
+        for (int i = 1; i <= events; i++) {
+            float lat = 55.0f + i % 1000 / 1000f;
+            float lon = 37.0f + i % 997 / 1000f;
+            rows.add(new Object[]{(long) i, lat, lon, GeoHash.encode(lat, lon)});
+        }
+        insert(jdbc, "INSERT INTO locations (id, lat, lon, geohash) VALUES (?, ?, ?, ?)", rows);
+
+        for (int i = 1; i <= events; i++) {
+            String word = WORDS[i % WORDS.length];
+            boolean published = i % 10 != 0;
+            rows.add(new Object[]{(long) i, "Annotation of the " + word + " number " + i,
+                    (long) (i % CATEGORIES + 1), Timestamp.valueOf(now.minusDays(7)),
+                    "Description of the " + word + " that is long enough to look like a real one, number " + i,
+                    Timestamp.valueOf(now.plusDays(1).plusMinutes(i)), (long) i, i % 2 == 0,
+                    i % 3 == 0 ? 0 : 10, published ? Timestamp.valueOf(now.minusDays(1)) : null, true,
+                    published ? "PUBLISHED" : "PENDING", "Event " + i, (long) (i % users + 1)});
+        }
+        insert(jdbc, "INSERT INTO events (id, annotation, category_id, created_on, description, event_date, " +
+                "location_id, paid, participant_limit, published_on, request_moderation, state, title, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        long requestId = 1;
+        long commentId = 1;
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 1; i <= events; i++) {
+            for (int j = 1; j <= i % 5; j++) {
+                rows.add(new Object[]{requestId++, Timestamp.valueOf(now.minusHours(j)), "CONFIRMED", (long) i,
+                        (long) ((i + j) % users + 1)});
+            }
+            for (int j = 1; j <= i % 4; j++) {
+                comments.add(new Object[]{commentId++, Timestamp.valueOf(now.minusHours(j)), "Comment " + j,
+                        (long) ((i + j) % users + 1), (long) i});
+            }
+        }
+        insert(jdbc, "INSERT INTO requests (id, created, status, event_id, requester_id) VALUES (?, ?, ?, ?, ?)", rows);
+        insert(jdbc, "INSERT INTO comments (id, created_on, text, author_id, event_id) VALUES (?, ?, ?, ?, ?)",
+                comments);
+
+        restartSequence(jdbc, "users", users + 1);
+        restartSequence(jdbc, "categories", CATEGORIES + 1);
+        restartSequence(jdbc, "locations", events + 1);
+        restartSequence(jdbc, "events", events + 1);
+        restartSequence(jdbc, "requests", requestId);
+        restartSequence(jdbc, "comments", commentId);
+    }
+
+    static void seedHits(ConfigurableApplicationContext stats, int hits, int events) {
+        JdbcTemplate jdbc = jdbcTemplate(stats);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= hits; i++) {
+            rows.add(new Object[]{(long) i, APP, "10.0." + i % 250 + "." + i % 100, Timestamp.valueOf(now.minusMinutes(i % 10_000)),
+                    "/events/" + (i % events + 1)});
+        }
+        insert(jdbc, "INSERT INTO stats (id, app_name, user_ip, created, uri) VALUES (?, ?, ?, ?, ?)", rows);
+        restartSequence(jdbc, "stats", hits + 1L);
+    }
+
+    /**
+     * Explicit ids do not move the sequences. Hibernate allocates ids in blocks of 50 and treats the value it reads
+     * as the top of the block, so the sequence has to restart a whole block above the next free id.
+     */
+    private static void restartSequence(JdbcTemplate jdbc, String table, long next) {
+        jdbc.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (next + ID_ALLOCATION_SIZE - 1));
+    }
+
+    private static JdbcTemplate jdbcTemplate(ConfigurableApplicationContext context) {
+        return new JdbcTemplate(context.getBean(DataSource.class));
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        rows.clear();
+    }
+}
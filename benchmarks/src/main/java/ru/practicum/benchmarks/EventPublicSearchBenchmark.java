@@ -0,0 +1,99 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.main_service.event.dto.EventShortView;
+import ru.practicum.main_service.event.geo.GeoArea;
+import ru.practicum.main_service.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The criteria query behind the public event search with different filter combinations.
+ * The query selects EventShortView projections and runs in a read-only transaction like in EventServiceImpl.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublicSearchBenchmark {
+    private static final int SIZE = 10;
+
+    @Param({"10000"})
+    int events;
+
+    @Param({"none", "text", "categories", "paid", "range", "radius", "all"})
+    String filter;
+
+    ConfigurableApplicationContext ewm;
+    EventRepository eventRepository;
+    TransactionTemplate readOnlyTransaction;
+    Pageable pageable;
+
+    String text;
+    List<Long> categories;
+    Boolean paid;
+    LocalDateTime rangeStart;
+    LocalDateTime rangeEnd;
+    GeoArea area;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ewm = ServiceContexts.startEwm();
+        DataSeeder.seedEvents(ewm, events);
+        eventRepository = ewm.getBean(EventRepository.class);
+        readOnlyTransaction = new TransactionTemplate(ewm.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        pageable = PageRequest.of(0, SIZE);
+
+        boolean all = "all".equals(filter);
+        if (all || "text".equals(filter)) {
+            text = "JAZZ";
+        }
+        if (all || "categories".equals(filter)) {
+            categories = List.of(1L, 2L, 3L);
+        }
+        if (all || "paid".equals(filter)) {
+            paid = true;
+        }
+        if (all || "range".equals(filter)) {
+            rangeStart = LocalDateTime.now();
+            rangeEnd = rangeStart.plusDays(7);
+        }
+        if ("radius".equals(filter)) {
+            area = GeoArea.circle(55.5, 37.5, 5);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ewm.close();
+    }
+
+    @Benchmark
+    public List<EventShortView> getEventsByPublic() {
+        return readOnlyTransaction.execute(status ->
+                eventRepository.getEventsByPublic(text, categories, paid, rangeStart, rangeEnd, area, 0, SIZE,
+                        pageable));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.main_service.event.dto.EventFullDto;
+import ru.practicum.main_service.event.dto.EventShortDto;
+import ru.practicum.main_service.event.enums.EventState;
+import ru.practicum.main_service.event.model.Event;
+import ru.practicum.main_service.event.repository.EventRepository;
+import ru.practicum.main_service.event.service.EventService;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event listings end to end: the database query, the enrichment with views from a live stats server,
+ * confirmed requests and comments, and the mapping to DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+    @Param({"1000", "10000"})
+    int events;
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    ConfigurableApplicationContext stats;
+    ConfigurableApplicationContext ewm;
+    EventService eventService;
+    Set<Event> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stats = ServiceContexts.startStats();
+        ewm = ServiceContexts.startEwm(stats);
+        DataSeeder.seedEvents(ewm, events);
+        DataSeeder.seedHits(stats, events * 10, events);
+
+        eventService = ewm.getBean(EventService.class);
+        page = new HashSet<>(ewm.getBean(EventRepository.class).findAll(PageRequest.of(0, pageSize)).getContent());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ewm.close();
+        stats.close();
+    }
+
+    @Benchmark
+    public Set<EventShortDto> toEventsShortDto() {
+        return eventService.toEventsShortDto(page);
+    }
+
+    @Benchmark
+    public Set<EventFullDto> getEventsByAdmin() {
+        return eventService.getEventsByAdmin(null, List.of(EventState.PUBLISHED), null, null, null, 0, pageSize);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.main_service.event.dto.EventSuggestionDto;
+import ru.practicum.main_service.event.service.EventSuggestServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title suggestions from the in-memory index. The seeded titles are "Event <n>", so "ev" matches every
+ * published event, "12" about one in ninety and "event 123" a handful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSuggestBenchmark {
+    private static final int SIZE = 10;
+
+    @Param({"10000"})
+    int events;
+
+    @Param({"ev", "12", "event 123"})
+    String prefix;
+
+    ConfigurableApplicationContext ewm;
+    EventSuggestServiceImpl eventSuggestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ewm = ServiceContexts.startEwm();
+        DataSeeder.seedEvents(ewm, events);
+        eventSuggestService = ewm.getBean(EventSuggestServiceImpl.class);
+        eventSuggestService.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ewm.close();
+    }
+
+    @Benchmark
+    public List<EventSuggestionDto> suggest() {
+        return eventSuggestService.suggest(prefix, SIZE);
+    }
+}
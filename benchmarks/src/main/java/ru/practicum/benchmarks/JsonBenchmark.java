@@ -0,0 +1,103 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.main_service.category.dto.CategoryDto;
+import ru.practicum.main_service.event.dto.EventShortDto;
+import ru.practicum.main_service.user.dto.UserShortDto;
+import ru.practicum.stats_common.model.ViewStats;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialization of the payloads that dominate the traffic: event lists of the public API and
+ * view stats exchanged with the stats server, in JSON and in Smile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    @Param({"10", "1000"})
+    int size;
+
+    @Param({"json", "smile"})
+    String format;
+
+    ObjectMapper objectMapper;
+    JavaType eventsType;
+    JavaType viewStatsType;
+
+    List<EventShortDto> events;
+    List<ViewStats> viewStats;
+    byte[] eventsPayload;
+    byte[] viewStatsPayload;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = "smile".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        eventsType = objectMapper.getTypeFactory().constructCollectionType(List.class, EventShortDto.class);
+        viewStatsType = objectMapper.getTypeFactory().constructCollectionType(List.class, ViewStats.class);
+
+        LocalDateTime eventDate = LocalDateTime.now().withNano(0);
+        events = new ArrayList<>(size);
+        viewStats = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            events.add(EventShortDto.builder()
+                    .id(i)
+                    .title("Event " + i)
+                    .annotation("Annotation of the event that is long enough to look like a real one, number " + i)
+                    .category(new CategoryDto(i % 10, "category " + i % 10))
+                    .initiator(new UserShortDto(i % 100, "User " + i % 100))
+                    .eventDate(eventDate.plusMinutes(i))
+                    .paid(i % 2 == 0)
+                    .confirmedRequests(i % 5)
+                    .views(i * 10)
+                    .build());
+            viewStats.add(new ViewStats(DataSeeder.APP, "/events/" + i, i * 10));
+        }
+        eventsPayload = objectMapper.writeValueAsBytes(events);
+        viewStatsPayload = objectMapper.writeValueAsBytes(viewStats);
+    }
+
+    @Benchmark
+    public byte[] serializeEvents() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public List<EventShortDto> deserializeEvents() throws IOException {
+        return objectMapper.readValue(eventsPayload, eventsType);
+    }
+
+    @Benchmark
+    public byte[] serializeViewStats() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(viewStats);
+    }
+
+    @Benchmark
+    public List<ViewStats> deserializeViewStats() throws IOException {
+        return objectMapper.readValue(viewStatsPayload, viewStatsType);
+    }
+}
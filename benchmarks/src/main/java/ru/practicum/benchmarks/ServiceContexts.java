@@ -0,0 +1,47 @@
+package ru.practicum.benchmarks;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.main_service.MainServiceApp;
+import ru.practicum.stats_server.StatsServiceApp;
+
+/**
+ * Boots the services on in-memory H2 for a benchmark trial.
+ * Both jars ship their own application.properties and schema.sql, so the contexts read dedicated
+ * property files and let Hibernate create the schema instead.
+ */
+final class ServiceContexts {
+    private ServiceContexts() {
+    }
+
+    static ConfigurableApplicationContext startStats() {
+        return new SpringApplicationBuilder(StatsServiceApp.class)
+                .properties("spring.config.name=benchmark-stats")
+                .run();
+    }
+
+    static ConfigurableApplicationContext startEwm(ConfigurableApplicationContext stats) {
+        return startEwm("http://localhost:" + stats.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    /**
+     * Starts the main service without a stats server, for benchmarks that never reach the stats client.
+     */
+    static ConfigurableApplicationContext startEwm() {
+        return startEwm("http://localhost:9090");
+    }
+
+    /**
+     * Starts the main service without a stats server and with the given JDBC batch size, 0 disables batching.
+     */
+    static ConfigurableApplicationContext startEwmWithJdbcBatchSize(int batchSize) {
+        return startEwm("http://localhost:9090", "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+    }
+
+    private static ConfigurableApplicationContext startEwm(String statsServerUrl, String... properties) {
+        return new SpringApplicationBuilder(MainServiceApp.class)
+                .properties("spring.config.name=benchmark-ewm", "stats-server.url=" + statsServerUrl)
+                .properties(properties)
+                .run();
+    }
+}
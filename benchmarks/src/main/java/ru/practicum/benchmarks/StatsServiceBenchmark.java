@@ -0,0 +1,84 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.stats_common.model.ViewStats;
+import ru.practicum.stats_server.service.StatsService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Stats aggregation at different sizes of the hits table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsServiceBenchmark {
+    private static final int EVENTS = 1_000;
+    private static final int REQUESTED_EVENTS = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    int hits;
+
+    @Param({"false", "true"})
+    boolean unique;
+
+    ConfigurableApplicationContext stats;
+    StatsService statsService;
+    LocalDateTime start;
+    LocalDateTime end;
+    List<Long> eventIds;
+    List<String> uris;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stats = ServiceContexts.startStats();
+        DataSeeder.seedHits(stats, hits, EVENTS);
+        statsService = stats.getBean(StatsService.class);
+
+        end = LocalDateTime.now().plusMinutes(1);
+        start = end.minusYears(1);
+        eventIds = LongStream.rangeClosed(1, REQUESTED_EVENTS).boxed().collect(Collectors.toList());
+        uris = eventIds.stream().map(id -> "/events/" + id).collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stats.close();
+    }
+
+    @Benchmark
+    public List<ViewStats> getStatsByUris() {
+        return statsService.getStats(start, end, uris, unique);
+    }
+
+    @Benchmark
+    public List<ViewStats> getStatsAllUris() {
+        return statsService.getStats(start, end, null, unique);
+    }
+
+    @Benchmark
+    public Map<Long, Long> getEventHits() {
+        return statsService.getEventHits(start, end, eventIds, unique);
+    }
+}
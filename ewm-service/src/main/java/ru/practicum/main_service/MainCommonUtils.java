@@ -7,6 +7,8 @@ public class MainCommonUtils {
     public static final DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern(DT_FORMAT);
     public static final String PAGE_DEFAULT_FROM = "0";
     public static final String PAGE_DEFAULT_SIZE = "10";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final int MAX_SUGGESTIONS = 50;
     public static final int MIN_LENGTH_ANNOTATION = 20;
     public static final int MAX_LENGTH_ANNOTATION = 2000;
     public static final int MIN_LENGTH_DESCRIPTION = 20;
@@ -10,9 +10,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.main_service.MainCommonUtils;
 import ru.practicum.main_service.category.dto.CategoryDto;
 import ru.practicum.main_service.category.service.CategoryService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -26,7 +28,12 @@ public class CategoryPublicController {
     @ResponseStatus(HttpStatus.OK)
     public List<CategoryDto> getAll(
             @RequestParam(value = "from", defaultValue = "0") int from,
-            @RequestParam(value = "size", defaultValue = "10") int size) {
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            HttpServletResponse response) {
+        if (withTotal) {
+            response.setHeader(MainCommonUtils.TOTAL_COUNT_HEADER, String.valueOf(categoryService.count()));
+        }
         return categoryService.getAll(PageRequest.of(from / size, size));
     }
 
@@ -1,8 +1,10 @@
 package ru.practicum.main_service.category.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.main_service.category.model.Category;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-
+    Slice<Category> findAllBy(Pageable pageable);
 }
@@ -12,6 +12,8 @@ public interface CategoryService {
 
     List<CategoryDto> getAll(Pageable pageable);
 
+    long count();
+
     CategoryDto getById(Long catId);
 
     CategoryDto patch(Long catId, CategoryDto categoryDto);
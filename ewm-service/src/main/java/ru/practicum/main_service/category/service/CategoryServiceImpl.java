@@ -27,23 +27,28 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional
     public CategoryDto create(NewCategoryDto newCategoryDto) {
-        log.info("Adding new Category {}", newCategoryDto);
+        log.debug("Adding new Category {}", newCategoryDto);
 
         return categoryMapper.toCategoryDto(categoryRepository.save(categoryMapper.newCategoryDtoToCategory(newCategoryDto)));
     }
 
     @Override
     public List<CategoryDto> getAll(Pageable pageable) {
-        log.info("Output of all Categories with pagination {}", pageable);
+        log.debug("Output of all Categories with pagination {}", pageable);
 
-        return categoryRepository.findAll(pageable).stream()
+        return categoryRepository.findAllBy(pageable).stream()
                 .map(categoryMapper::toCategoryDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public long count() {
+        return categoryRepository.count();
+    }
+
     @Override
     public CategoryDto getById(Long catId) {
-        log.info("Output of a Category with an id {}", catId);
+        log.debug("Output of a Category with an id {}", catId);
 
         Category category = categoryRepository.findById(catId)
                 .orElseThrow(() -> new NotFoundException("There is no Category with this id."));
@@ -54,7 +59,7 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional
     public CategoryDto patch(Long catId, CategoryDto categoryDto) {
-        log.info("Updating a Category with id {} new parameters {}", catId, categoryDto);
+        log.debug("Updating a Category with id {} new parameters {}", catId, categoryDto);
 
         if (categoryDto.getName() != null && categoryDto.getName().length() > 50) {
             throw new BadRequestException("The name length should not exceed 50 characters.");
@@ -70,7 +75,7 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional
     public void deleteById(Long catId) {
-        log.info("Deleting a Category with an id {}", catId);
+        log.debug("Deleting a Category with an id {}", catId);
 
         categoryRepository.findById(catId)
                 .orElseThrow(() -> new NotFoundException("There is no Category with this id."));
@@ -80,7 +85,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public Category getCategoryById(Long catId) {
-        log.info("Output of a Category with id {}", catId);
+        log.debug("Output of a Category with id {}", catId);
 
         return categoryRepository.findById(catId)
                 .orElseThrow(() -> new NotFoundException("There is no Category with this id."));
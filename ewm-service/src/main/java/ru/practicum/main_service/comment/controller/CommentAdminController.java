@@ -9,6 +9,7 @@ import ru.practicum.main_service.MainCommonUtils;
 import ru.practicum.main_service.comment.dto.CommentDto;
 import ru.practicum.main_service.comment.service.CommentService;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
@@ -24,7 +25,12 @@ public class CommentAdminController {
     @ResponseStatus(HttpStatus.OK)
     public List<CommentDto> getCommentsByAdmin(
             @RequestParam(defaultValue = MainCommonUtils.PAGE_DEFAULT_FROM) @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = MainCommonUtils.PAGE_DEFAULT_SIZE) @Positive Integer size) {
+            @RequestParam(defaultValue = MainCommonUtils.PAGE_DEFAULT_SIZE) @Positive Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            HttpServletResponse response) {
+        if (withTotal) {
+            response.setHeader(MainCommonUtils.TOTAL_COUNT_HEADER, String.valueOf(commentService.count()));
+        }
         return commentService.getCommentsByAdmin(PageRequest.of(from / size, size));
     }
 
@@ -12,7 +12,8 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments", schema = "public")
+@Table(name = "comments", schema = "public",
+        indexes = @Index(name = "comments_author_created_idx", columnList = "author_id, createdOn"))
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
 @Setter
@@ -21,7 +22,8 @@ import java.time.LocalDateTime;
 @Builder
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     Long id;
 
     @Column(length = MainCommonUtils.MAX_LENGTH_COMMENT, nullable = false)
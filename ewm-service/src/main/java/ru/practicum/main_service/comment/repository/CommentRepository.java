@@ -1,6 +1,7 @@
 package ru.practicum.main_service.comment.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.main_service.comment.model.Comment;
@@ -8,15 +9,36 @@ import ru.practicum.main_service.comment.model.Comment;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByAuthorId(Long userId);
+    Slice<Comment> findAllBy(Pageable pageable);
 
-    List<Comment> findAllByAuthorIdAndEventId(Long userId, Long eventId);
+    List<Comment> findAllByAuthorId(Long userId, Pageable pageable);
+
+    List<Comment> findAllByAuthorIdAndEventId(Long userId, Long eventId, Pageable pageable);
+
+    @Query("SELECT com " +
+            "FROM Comment com " +
+            "WHERE com.author.id = ?1 " +
+            "AND (com.createdOn < (SELECT cur.createdOn FROM Comment cur WHERE cur.id = ?2) " +
+            "OR com.createdOn = (SELECT cur.createdOn FROM Comment cur WHERE cur.id = ?2) AND com.id < ?2) " +
+            "ORDER BY com.createdOn DESC, com.id DESC")
+    List<Comment> findAllByAuthorIdBefore(Long userId, Long beforeId, Pageable pageable);
+
+    @Query("SELECT com " +
+            "FROM Comment com " +
+            "WHERE com.author.id = ?1 " +
+            "AND com.event.id = ?2 " +
+            "AND (com.createdOn < (SELECT cur.createdOn FROM Comment cur WHERE cur.id = ?3) " +
+            "OR com.createdOn = (SELECT cur.createdOn FROM Comment cur WHERE cur.id = ?3) AND com.id < ?3) " +
+            "ORDER BY com.createdOn DESC, com.id DESC")
+    List<Comment> findAllByAuthorIdAndEventIdBefore(Long userId, Long eventId, Long beforeId, Pageable pageable);
 
     List<Comment> findAllByEventId(Long eventId, Pageable pageable);
 
+    boolean existsByIdAndAuthorId(Long id, Long authorId);
+
     @Query("SELECT com.event.id, count(com) " +
             "FROM Comment com " +
-            "WHERE com.event.id = ?1 " +
+            "WHERE com.event.id IN ?1 " +
             "GROUP BY com.event.id")
     List<Object[]> findAllCommentsByEventId(List<Long> eventsId);
 }
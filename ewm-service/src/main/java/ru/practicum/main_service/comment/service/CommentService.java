@@ -10,9 +10,11 @@ import java.util.Map;
 public interface CommentService {
     List<CommentDto> getCommentsByAdmin(Pageable pageable);
 
+    long count();
+
     void deleteByAdmin(Long commentId);
 
-    List<CommentDto> getCommentsByPrivate(Long userId, Long eventId, Pageable pageable);
+    List<CommentDto> getCommentsByPrivate(Long userId, Long eventId, Long beforeId, Pageable pageable);
 
     CommentDto createByPrivate(Long userId, Long eventId, NewCommentDto newCommentDto);
 
@@ -2,7 +2,9 @@ package ru.practicum.main_service.comment.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.main_service.comment.dto.CommentDto;
@@ -17,6 +19,7 @@ import ru.practicum.main_service.exception.ForbiddenException;
 import ru.practicum.main_service.exception.NotFoundException;
 import ru.practicum.main_service.user.model.User;
 import ru.practicum.main_service.user.service.UserService;
+import ru.practicum.main_service.validation.ExistenceValidator;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -30,16 +33,24 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @Slf4j
 public class CommentServiceImpl implements CommentService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdOn", "id");
+
     private final UserService userService;
     private final EventService eventService;
+    private final ExistenceValidator existenceValidator;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
 
     @Override
     public List<CommentDto> getCommentsByAdmin(Pageable pageable) {
-        log.info("Output of all Comments with pagination {}", pageable);
+        log.debug("Output of all Comments with pagination {}", pageable);
 
-        return toCommentsDto(commentRepository.findAll(pageable).toList());
+        return toCommentsDto(commentRepository.findAllBy(pageable).getContent());
+    }
+
+    @Override
+    public long count() {
+        return commentRepository.count();
     }
 
     @Override
@@ -49,23 +60,37 @@ public class CommentServiceImpl implements CommentService {
                 new NotFoundException("There is no Comment with this id."));
 
         commentRepository.deleteById(commentId);
-        log.info("Successfully deleted comment with id {}", commentId);
+        log.debug("Successfully deleted comment with id {}", commentId);
     }
 
     @Override
-    public List<CommentDto> getCommentsByPrivate(Long userId, Long eventId, Pageable pageable) {
-        log.info("Output of all user comments with id {} to the event with id {} and pagination {}",
-                userId, eventId, pageable);
-
-        userService.getUserById(userId);
+    public List<CommentDto> getCommentsByPrivate(Long userId, Long eventId, Long beforeId, Pageable pageable) {
+        log.debug("Output of all user comments with id {} to the event with id {} before comment {} and pagination {}",
+                userId, eventId, beforeId, pageable);
+
+        // Newest first; with beforeId the page starts right after that comment and the offset is not used
+        Pageable page = beforeId == null
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST)
+                : PageRequest.ofSize(pageable.getPageSize());
+
+        // An unknown cursor would silently yield an empty page
+        if (beforeId != null && !commentRepository.existsByIdAndAuthorId(beforeId, userId)) {
+            throw new NotFoundException("There is no Comment with this id.");
+        }
 
         List<Comment> comments;
         if (eventId != null) {
-            eventService.getEventById(eventId);
+            existenceValidator.checkUserAndEventExist(userId, eventId);
 
-            comments = commentRepository.findAllByAuthorIdAndEventId(userId, eventId);
+            comments = beforeId == null
+                    ? commentRepository.findAllByAuthorIdAndEventId(userId, eventId, page)
+                    : commentRepository.findAllByAuthorIdAndEventIdBefore(userId, eventId, beforeId, page);
         } else {
-            comments = commentRepository.findAllByAuthorId(userId);
+            existenceValidator.checkUserExists(userId);
+
+            comments = beforeId == null
+                    ? commentRepository.findAllByAuthorId(userId, page)
+                    : commentRepository.findAllByAuthorIdBefore(userId, beforeId, page);
         }
         return toCommentsDto(comments);
     }
@@ -73,7 +98,7 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public CommentDto createByPrivate(Long userId, Long eventId, NewCommentDto newCommentDto) {
-        log.info("Creating a comment on an event with id {} by a user with id {} and parameters {}",
+        log.debug("Creating a comment on an event with id {} by a user with id {} and parameters {}",
                 eventId, userId, newCommentDto);
 
         User user = userService.getUserById(userId);
@@ -96,9 +121,7 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public CommentDto patchByPrivate(Long userId, Long commentId, NewCommentDto newCommentDto) {
-        log.info("Updating a comment with id {} by a user with id {} and parameters {}", commentId, userId, newCommentDto);
-
-        userService.getUserById(userId);
+        log.debug("Updating a comment with id {} by a user with id {} and parameters {}", commentId, userId, newCommentDto);
 
         Comment commentFromRepository = getCommentById(commentId);
         checkUserIsOwner(userId, commentFromRepository.getAuthor().getId());
@@ -111,9 +134,7 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public void deleteByPrivate(Long userId, Long commentId) {
-        log.info("Deleting a comment with id {} by a user with id {}", commentId, userId);
-
-        userService.getUserById(userId);
+        log.debug("Deleting a comment with id {} by a user with id {}", commentId, userId);
 
         checkUserIsOwner(userId, getCommentById(commentId).getAuthor().getId());
 
@@ -122,16 +143,16 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     public List<CommentDto> getCommentsByPublic(Long eventId, Pageable pageable) {
-        log.info("Output of all comments to the event with id {} and pagination {}", eventId, pageable);
+        log.debug("Output of all comments to the event with id {} and pagination {}", eventId, pageable);
 
-        eventService.getEventById(eventId);
+        existenceValidator.checkEventExists(eventId);
 
         return toCommentsDto(commentRepository.findAllByEventId(eventId, pageable));
     }
 
     @Override
     public CommentDto getCommentByPublic(Long commentId) {
-        log.info("Output of a comment with id {}", commentId);
+        log.debug("Output of a comment with id {}", commentId);
 
         return commentMapper.toCommentDto(getCommentById(commentId));
     }
@@ -161,6 +182,7 @@ public class CommentServiceImpl implements CommentService {
 
     private void checkUserIsOwner(Long id, Long userId) {
         if (!Objects.equals(id, userId)) {
+            existenceValidator.checkUserExists(id);
             throw new ForbiddenException("The user is not the owner.");
         }
     }
@@ -10,9 +10,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.main_service.MainCommonUtils;
 import ru.practicum.main_service.compilation.dto.CompilationDto;
 import ru.practicum.main_service.compilation.service.CompilationService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -27,7 +29,12 @@ public class CompilationPublicController {
     public List<CompilationDto> getAll(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(value = "from", defaultValue = "0") int from,
-            @RequestParam(value = "size", defaultValue = "10") int size) {
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            HttpServletResponse response) {
+        if (withTotal) {
+            response.setHeader(MainCommonUtils.TOTAL_COUNT_HEADER, String.valueOf(compilationService.count(pinned)));
+        }
         return compilationService.getAll(pinned, PageRequest.of(from / size, size));
     }
 
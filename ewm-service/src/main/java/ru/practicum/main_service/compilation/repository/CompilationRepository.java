@@ -1,11 +1,16 @@
 package ru.practicum.main_service.compilation.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.main_service.compilation.model.Compilation;
 
 import java.util.List;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
+    Slice<Compilation> findAllBy(Pageable pageable);
+
     List<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
+
+    long countByPinned(Boolean pinned);
 }
\ No newline at end of file
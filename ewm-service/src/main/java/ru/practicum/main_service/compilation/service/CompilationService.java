@@ -16,5 +16,7 @@ public interface CompilationService {
 
     List<CompilationDto> getAll(Boolean pinned, Pageable pageable);
 
+    long count(Boolean pinned);
+
     CompilationDto getById(Long compId);
 }
\ No newline at end of file
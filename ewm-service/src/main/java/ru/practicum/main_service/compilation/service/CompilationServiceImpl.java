@@ -36,7 +36,7 @@ public class CompilationServiceImpl implements CompilationService {
     @Override
     @Transactional
     public CompilationDto create(NewCompilationDto newCompilationDto) {
-        log.info("Creating a new collection of events with parameters {}", newCompilationDto);
+        log.debug("Creating a new collection of events with parameters {}", newCompilationDto);
 
         Set<Event> events = new HashSet<>();
 
@@ -54,7 +54,7 @@ public class CompilationServiceImpl implements CompilationService {
     @Override
     @Transactional
     public CompilationDto patch(Long compId, UpdateCompilationRequest updateCompilationRequest) {
-        log.info("Updating a selection of events with id {} and new parameters {}", compId, updateCompilationRequest);
+        log.debug("Updating a selection of events with id {} and new parameters {}", compId, updateCompilationRequest);
 
         Compilation compilation = getCompilationById(compId);
 
@@ -86,7 +86,7 @@ public class CompilationServiceImpl implements CompilationService {
     @Override
     @Transactional
     public void deleteById(Long compId) {
-        log.info("Deleting a collection of events from id {}", compId);
+        log.debug("Deleting a collection of events from id {}", compId);
 
         getCompilationById(compId);
 
@@ -95,12 +95,12 @@ public class CompilationServiceImpl implements CompilationService {
 
     @Override
     public List<CompilationDto> getAll(Boolean pinned, Pageable pageable) {
-        log.info("Output of all collections of events with parameters pinned = {}, pageable = {}", pinned, pageable);
+        log.debug("Output of all collections of events with parameters pinned = {}, pageable = {}", pinned, pageable);
 
         List<Compilation> compilations;
 
         if (pinned == null) {
-            compilations = compilationRepository.findAll(pageable).toList();
+            compilations = compilationRepository.findAllBy(pageable).getContent();
         } else {
             compilations = compilationRepository.findAllByPinned(pinned, pageable);
         }
@@ -123,9 +123,18 @@ public class CompilationServiceImpl implements CompilationService {
         return result;
     }
 
+    @Override
+    public long count(Boolean pinned) {
+        if (pinned == null) {
+            return compilationRepository.count();
+        } else {
+            return compilationRepository.countByPinned(pinned);
+        }
+    }
+
     @Override
     public CompilationDto getById(Long compId) {
-        log.info("Output of a selection of events with id {}", compId);
+        log.debug("Output of a selection of events with id {}", compId);
 
         Compilation compilation = getCompilationById(compId);
 
@@ -5,19 +5,31 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.main_service.MainCommonUtils;
+import ru.practicum.main_service.event.dto.EventClusterDto;
 import ru.practicum.main_service.event.dto.EventFullDto;
+import ru.practicum.main_service.event.dto.EventPublicSearchParams;
+import ru.practicum.main_service.event.dto.EventSearchResultDto;
 import ru.practicum.main_service.event.dto.EventShortDto;
+import ru.practicum.main_service.event.dto.EventSuggestionDto;
+import ru.practicum.main_service.event.geo.GeoArea;
+import ru.practicum.main_service.event.service.EventClusterService;
 import ru.practicum.main_service.event.service.EventService;
+import ru.practicum.main_service.event.service.EventSuggestService;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,21 +39,50 @@ import java.util.List;
 @Validated
 public class EventPublicController {
     private final EventService eventService;
+    private final EventClusterService eventClusterService;
+    private final EventSuggestService eventSuggestService;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<EventShortDto> getEventsByPublic(
+    public List<EventShortDto> getEventsByPublic(@Valid @ModelAttribute EventPublicSearchParams params,
+                                                 HttpServletRequest request) {
+        return eventService.getEventsByPublic(params.getText(), params.getCategories(), params.getPaid(),
+                params.getRangeStart(), params.getRangeEnd(), params.toArea(), params.getOnlyAvailable(),
+                params.getFrom(), params.getSize(), request);
+    }
+
+    /**
+     * The same search with facets=true: the page of events together with the counts per category and paid flag.
+     */
+    @GetMapping(params = "facets=true")
+    @ResponseStatus(HttpStatus.OK)
+    public EventSearchResultDto getEventsWithFacetsByPublic(@Valid @ModelAttribute EventPublicSearchParams params,
+                                                            HttpServletRequest request) {
+        return eventService.getEventsWithFacetsByPublic(params.getText(), params.getCategories(), params.getPaid(),
+                params.getRangeStart(), params.getRangeEnd(), params.toArea(), params.getOnlyAvailable(),
+                params.getFrom(), params.getSize(), request);
+    }
+
+    @GetMapping("/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<EventSuggestionDto> suggest(@RequestParam @NotBlank @Size(max = MainCommonUtils.MAX_LENGTH_TITLE) String prefix,
+                                            @RequestParam(defaultValue = MainCommonUtils.PAGE_DEFAULT_SIZE) @Positive
+                                            @Max(MainCommonUtils.MAX_SUGGESTIONS) Integer size) {
+        return eventSuggestService.suggest(prefix, size);
+    }
+
+    @GetMapping("/clusters")
+    @ResponseStatus(HttpStatus.OK)
+    public List<EventClusterDto> getEventClusters(
+            @RequestParam @PositiveOrZero @Max(GeoArea.MAX_ZOOM) Integer zoom,
+            @RequestParam @PositiveOrZero Integer x,
+            @RequestParam @PositiveOrZero Integer y,
             @RequestParam(required = false) String text,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) Boolean paid,
             @RequestParam(required = false) @DateTimeFormat(pattern = MainCommonUtils.DT_FORMAT) LocalDateTime rangeStart,
-            @RequestParam(required = false) @DateTimeFormat(pattern = MainCommonUtils.DT_FORMAT) LocalDateTime rangeEnd,
-            @RequestParam(required = false, defaultValue = "false") Boolean onlyAvailable,
-            @RequestParam(defaultValue = MainCommonUtils.PAGE_DEFAULT_FROM) @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = MainCommonUtils.PAGE_DEFAULT_SIZE) @Positive Integer size,
-            HttpServletRequest request) {
-        return eventService.getEventsByPublic(text, categories, paid, rangeStart, rangeEnd, onlyAvailable,
-                from, size, request);
+            @RequestParam(required = false) @DateTimeFormat(pattern = MainCommonUtils.DT_FORMAT) LocalDateTime rangeEnd) {
+        return eventClusterService.getEventClusters(zoom, x, y, text, categories, paid, rangeStart, rangeEnd);
     }
 
     @GetMapping("/{id}")
@@ -1,7 +1,10 @@
 package ru.practicum.main_service.event.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,21 +13,31 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.main_service.MainCommonUtils;
 import ru.practicum.main_service.event.dto.ParticipationRequestDto;
 import ru.practicum.main_service.event.service.RequestService;
 
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/users/{userId}/requests")
+@Validated
 public class RequestPrivateController {
     private final RequestService requestService;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<ParticipationRequestDto> getEventRequestsByRequester(@PathVariable Long userId) {
-        return requestService.getEventRequestsByRequester(userId);
+    public List<ParticipationRequestDto> getEventRequestsByRequester(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = MainCommonUtils.PAGE_DEFAULT_FROM) @PositiveOrZero Integer from,
+            @RequestParam(required = false) @Positive Integer size) {
+        // Without size the whole list is returned, as before the pagination was added
+        Pageable pageable = size == null ? Pageable.unpaged() : PageRequest.of(from / size, size);
+        return requestService.getEventRequestsByRequester(userId, beforeId, pageable);
     }
 
     @PostMapping
@@ -0,0 +1,25 @@
+package ru.practicum.main_service.event.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Published events of one geohash cell: their count and the centroid of their locations.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventClusterDto {
+    String geohash;
+    Double lat;
+    Double lon;
+    Long count;
+}
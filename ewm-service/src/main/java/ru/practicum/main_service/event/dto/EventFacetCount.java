@@ -0,0 +1,25 @@
+package ru.practicum.main_service.event.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Number of published events of one category with one paid flag, a row of the grouped facets query.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventFacetCount {
+    Long categoryId;
+    String categoryName;
+    Boolean paid;
+    Long count;
+}
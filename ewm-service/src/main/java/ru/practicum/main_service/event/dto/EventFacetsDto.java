@@ -0,0 +1,27 @@
+package ru.practicum.main_service.event.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Counts next to the public search results. Each facet applies every filter except its own, so the counts
+ * show what the search would find with another category or paid flag chosen.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventFacetsDto {
+    List<CategoryFacetDto> categories;
+    Long paid;
+    Long free;
+}
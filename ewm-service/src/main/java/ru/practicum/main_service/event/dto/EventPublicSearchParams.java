@@ -0,0 +1,83 @@
+package ru.practicum.main_service.event.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import ru.practicum.main_service.MainCommonUtils;
+import ru.practicum.main_service.event.geo.GeoArea;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Query parameters of the public event search, bound once for the plain search and the search with facets.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class EventPublicSearchParams {
+    String text;
+
+    List<Long> categories;
+
+    Boolean paid;
+
+    @DateTimeFormat(pattern = MainCommonUtils.DT_FORMAT)
+    LocalDateTime rangeStart;
+
+    @DateTimeFormat(pattern = MainCommonUtils.DT_FORMAT)
+    LocalDateTime rangeEnd;
+
+    @DecimalMin("-90")
+    @DecimalMax("90")
+    Double lat;
+
+    @DecimalMin("-180")
+    @DecimalMax("180")
+    Double lon;
+
+    @Positive
+    Double radius;
+
+    @DecimalMin("-90")
+    @DecimalMax("90")
+    Double minLat;
+
+    @DecimalMin("-180")
+    @DecimalMax("180")
+    Double minLon;
+
+    @DecimalMin("-90")
+    @DecimalMax("90")
+    Double maxLat;
+
+    @DecimalMin("-180")
+    @DecimalMax("180")
+    Double maxLon;
+
+    @NotNull
+    Boolean onlyAvailable = false;
+
+    @NotNull
+    @PositiveOrZero
+    Integer from = Integer.valueOf(MainCommonUtils.PAGE_DEFAULT_FROM);
+
+    @NotNull
+    @Positive
+    Integer size = Integer.valueOf(MainCommonUtils.PAGE_DEFAULT_SIZE);
+
+    public GeoArea toArea() {
+        return GeoArea.of(lat, lon, radius, minLat, minLon, maxLat, maxLon);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.main_service.event.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.main_service.event.model.ViewableEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of an {@link EventShortDto} read straight from events, categories and users.
+ * Listings select it with a constructor expression, so description and location are never read
+ * and nothing ends up in the persistence context.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventShortView implements ViewableEvent {
+    Long id;
+    String annotation;
+    Long categoryId;
+    String categoryName;
+    LocalDateTime eventDate;
+    Long initiatorId;
+    String initiatorName;
+    Boolean paid;
+    String title;
+    Integer participantLimit;
+    LocalDateTime publishedOn;
+}
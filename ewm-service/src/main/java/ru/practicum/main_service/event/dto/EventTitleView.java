@@ -0,0 +1,28 @@
+package ru.practicum.main_service.event.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.main_service.event.model.ViewableEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a published event needed by the title suggestions.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventTitleView implements ViewableEvent {
+    Long id;
+    String title;
+    LocalDateTime eventDate;
+    LocalDateTime publishedOn;
+}
@@ -0,0 +1,122 @@
+package ru.practicum.main_service.event.geo;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.main_service.exception.BadRequestException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Area of a geo search: a circle around a point or a box of coordinates. Distances use the equirectangular
+ * approximation, which is accurate enough for city-scale radii. Areas crossing the antimeridian are not supported.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GeoArea {
+    public static final double KM_PER_DEGREE = 111.195;
+    public static final int MAX_ZOOM = 20;
+
+    double minLat;
+    double minLon;
+    double maxLat;
+    double maxLon;
+    double centerLat;
+    double centerLon;
+    Double radiusKm;
+
+    /**
+     * Builds the area from the public search parameters.
+     * @return a circle if lat, lon and radius are given, a box if all its bounds are given, or null if there is no geo filter
+     */
+    public static GeoArea of(Double lat, Double lon, Double radius,
+                             Double minLat, Double minLon, Double maxLat, Double maxLon) {
+        boolean circle = Stream.of(lat, lon, radius).anyMatch(Objects::nonNull);
+        boolean box = Stream.of(minLat, minLon, maxLat, maxLon).anyMatch(Objects::nonNull);
+
+        if (circle && box) {
+            throw new BadRequestException("Field: location. Error: search either by radius or by bounding box.");
+        }
+        if (circle) {
+            if (Stream.of(lat, lon, radius).anyMatch(Objects::isNull)) {
+                throw new BadRequestException("Field: location. Error: lat, lon and radius must be set together.");
+            }
+            return circle(lat, lon, radius);
+        }
+        if (box) {
+            if (Stream.of(minLat, minLon, maxLat, maxLon).anyMatch(Objects::isNull)) {
+                throw new BadRequestException("Field: location. Error: minLat, minLon, maxLat and maxLon must be set together.");
+            }
+            if (minLat > maxLat || minLon > maxLon) {
+                throw new BadRequestException(String.format("Field: location. Error: incorrect bounding box. " +
+                        "Value: minLat = %s, minLon = %s, maxLat = %s, maxLon = %s", minLat, minLon, maxLat, maxLon));
+            }
+            return new GeoArea(minLat, minLon, maxLat, maxLon, (minLat + maxLat) / 2, (minLon + maxLon) / 2, null);
+        }
+        return null;
+    }
+
+    /**
+     * Builds a circle around the point. Its bounding box has to stay within longitudes -180..180, circles crossing
+     * the antimeridian are rejected rather than clipped.
+     */
+    public static GeoArea circle(double lat, double lon, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = latDelta / Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        if (lon - lonDelta < -180 || lon + lonDelta > 180) {
+            throw new BadRequestException(String.format("Field: location. Error: the search circle crosses " +
+                    "the antimeridian. Value: lat = %s, lon = %s, radius = %s", lat, lon, radiusKm));
+        }
+        return new GeoArea(Math.max(lat - latDelta, -90), lon - lonDelta,
+                Math.min(lat + latDelta, 90), lon + lonDelta, lat, lon, radiusKm);
+    }
+
+    /**
+     * Builds the area of a web map tile: at the zoom level the map is split into 2^zoom by 2^zoom tiles,
+     * x grows to the east and y to the south.
+     */
+    public static GeoArea tile(int zoom, int x, int y) {
+        int tiles = 1 << zoom;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new BadRequestException(String.format("Field: tile. Error: the tile is outside the map at zoom %d. " +
+                    "Value: x = %d, y = %d", zoom, x, y));
+        }
+
+        double minLon = x * 360.0 / tiles - 180;
+        double maxLon = (x + 1) * 360.0 / tiles - 180;
+        double maxLat = tileLat(y, tiles);
+        double minLat = tileLat(y + 1, tiles);
+        return new GeoArea(minLat, minLon, maxLat, maxLon, (minLat + maxLat) / 2, (minLon + maxLon) / 2, null);
+    }
+
+    private static double tileLat(int y, int tiles) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / tiles))));
+    }
+
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+
+    public boolean isCircle() {
+        return radiusKm != null;
+    }
+
+    /**
+     * Degrees of longitude are shorter than degrees of latitude away from the equator, by this factor.
+     */
+    public double getLonScale() {
+        return Math.cos(Math.toRadians(centerLat));
+    }
+
+    public double getRadiusDegrees() {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    public List<String> getGeoHashCells() {
+        return GeoHash.cover(minLat, minLon, maxLat, maxLon);
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.main_service.event.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geohash encoding of coordinates. Nearby points share a hash prefix, so an ordinary B-tree index over the hash
+ * answers "points in this cell" as a range scan, without a spatial index.
+ */
+public final class GeoHash {
+    public static final int MAX_PRECISION = 12;
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final int MAX_COVERING_CELLS = 16;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double lat, double lon) {
+        return encode(lat, lon, MAX_PRECISION);
+    }
+
+    public static String encode(double lat, double lon, int precision) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLon = -180;
+        double maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int index = 0;
+
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) {
+                    index = index << 1 | 1;
+                    minLon = mid;
+                } else {
+                    index <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    index = index << 1 | 1;
+                    minLat = mid;
+                } else {
+                    index <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(index));
+                bits = 0;
+                index = 0;
+            }
+        }
+
+        return hash.toString();
+    }
+
+    /**
+     * Returns the cells of one precision that together cover the box, using the finest precision that needs at most
+     * {@value #MAX_COVERING_CELLS} cells. An empty list means the box is too large for prefixes to narrow anything down.
+     */
+    public static List<String> cover(double minLat, double minLon, double maxLat, double maxLon) {
+        int precision = 0;
+        for (int candidate = 1; candidate <= MAX_PRECISION; candidate++) {
+            if (rows(minLat, maxLat, candidate) * columns(minLon, maxLon, candidate) > MAX_COVERING_CELLS) {
+                break;
+            }
+            precision = candidate;
+        }
+
+        List<String> cells = new ArrayList<>();
+        if (precision == 0) {
+            return cells;
+        }
+
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        long firstRow = cellIndex(minLat + 90, height, latBits(precision));
+        long firstColumn = cellIndex(minLon + 180, width, lonBits(precision));
+        long rows = rows(minLat, maxLat, precision);
+        long columns = columns(minLon, maxLon, precision);
+
+        for (long row = 0; row < rows; row++) {
+            for (long column = 0; column < columns; column++) {
+                double lat = -90 + (firstRow + row + 0.5) * height;
+                double lon = -180 + (firstColumn + column + 0.5) * width;
+                cells.add(encode(lat, lon, precision));
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Returns the coarsest precision whose cells are at most this many degrees of longitude wide.
+     */
+    public static int precisionFor(double cellWidth) {
+        for (int precision = 1; precision < MAX_PRECISION; precision++) {
+            if (cellWidth(precision) <= cellWidth) {
+                return precision;
+            }
+        }
+        return MAX_PRECISION;
+    }
+
+    /**
+     * Returns the smallest string greater than every hash with this prefix, or null if there is none.
+     * Together with the prefix itself it bounds a range that an index can scan under any collation.
+     */
+    public static String upperBound(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            int index = BASE32.indexOf(prefix.charAt(i));
+            if (index < BASE32.length() - 1) {
+                return prefix.substring(0, i) + BASE32.charAt(index + 1);
+            }
+        }
+        return null;
+    }
+
+    private static long rows(double minLat, double maxLat, int precision) {
+        double height = cellHeight(precision);
+        int bits = latBits(precision);
+        return cellIndex(maxLat + 90, height, bits) - cellIndex(minLat + 90, height, bits) + 1;
+    }
+
+    private static long columns(double minLon, double maxLon, int precision) {
+        double width = cellWidth(precision);
+        int bits = lonBits(precision);
+        return cellIndex(maxLon + 180, width, bits) - cellIndex(minLon + 180, width, bits) + 1;
+    }
+
+    private static long cellIndex(double offset, double cellSize, int bits) {
+        return Math.min((long) Math.floor(offset / cellSize), (1L << bits) - 1);
+    }
+
+    private static int lonBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+
+    private static int latBits(int precision) {
+        return 5 * precision / 2;
+    }
+
+    private static double cellWidth(int precision) {
+        return 360.0 / (1L << lonBits(precision));
+    }
+
+    private static double cellHeight(int precision) {
+        return 180.0 / (1L << latBits(precision));
+    }
+}
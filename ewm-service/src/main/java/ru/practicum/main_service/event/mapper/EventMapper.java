@@ -6,6 +6,7 @@ import ru.practicum.main_service.category.mapper.CategoryMapper;
 import ru.practicum.main_service.category.model.Category;
 import ru.practicum.main_service.event.dto.EventFullDto;
 import ru.practicum.main_service.event.dto.EventShortDto;
+import ru.practicum.main_service.event.dto.EventShortView;
 import ru.practicum.main_service.event.dto.NewEventDto;
 import ru.practicum.main_service.event.enums.EventState;
 import ru.practicum.main_service.event.model.Event;
@@ -26,5 +27,11 @@ public interface EventMapper {
 
     EventFullDto toEventFullDto(Event event, Long confirmedRequests, Long views);
 
-    EventShortDto toEventShortDto(Event event, Long confirmedRequests, Long views, Long comments);
+    EventShortDto toEventShortDto(Event event, Long confirmedRequests, Long views);
+
+    @Mapping(target = "category.id", source = "view.categoryId")
+    @Mapping(target = "category.name", source = "view.categoryName")
+    @Mapping(target = "initiator.id", source = "view.initiatorId")
+    @Mapping(target = "initiator.name", source = "view.initiatorName")
+    EventShortDto toEventShortDto(EventShortView view, Long confirmedRequests, Long views);
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import ru.practicum.main_service.event.model.Location;
 @Mapper(componentModel = "spring")
 public interface LocationMapper {
     @Mapping(target = "id", expression = "java(null)")
+    @Mapping(target = "geohash", ignore = true)
     Location toLocation(LocationDto locationDto);
 
     LocationDto toLocationDto(Location location);
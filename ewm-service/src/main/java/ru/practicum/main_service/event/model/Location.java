@@ -7,17 +7,23 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.main_service.event.geo.GeoHash;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.util.Objects;
 
 @Entity
-@Table(name = "locations", schema = "public")
+@Table(name = "locations", schema = "public",
+        uniqueConstraints = @UniqueConstraint(name = "locations_lat_lon_uq", columnNames = {"lat", "lon"}),
+        indexes = @Index(name = "locations_geohash_idx", columnList = "geohash"))
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
 @Setter
@@ -26,7 +32,8 @@ import java.util.Objects;
 @Builder
 public class Location {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locations_seq")
+    @SequenceGenerator(name = "locations_seq", sequenceName = "locations_seq", allocationSize = 50)
     Long id;
 
     @Column(nullable = false)
@@ -35,16 +42,20 @@ public class Location {
     @Column(nullable = false)
     Float lon;
 
+    @Column(nullable = false, length = GeoHash.MAX_PRECISION)
+    String geohash;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Location location = (Location) o;
-        return Objects.equals(id, location.id) && Objects.equals(lat, location.lat) && Objects.equals(lon, location.lon);
+        return Objects.equals(id, location.id) && Objects.equals(lat, location.lat) && Objects.equals(lon, location.lon) &&
+                Objects.equals(geohash, location.geohash);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, lat, lon);
+        return Objects.hash(id, lat, lon, geohash);
     }
 }
\ No newline at end of file
@@ -20,13 +20,19 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "requests", schema = "public")
+@Table(name = "requests", schema = "public",
+        indexes = @Index(name = "requests_requester_created_idx", columnList = "requester_id, created"),
+        uniqueConstraints = @UniqueConstraint(name = "requests_event_requester_uq",
+                columnNames = {"event_id", "requester_id"}))
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
 @Setter
@@ -35,7 +41,8 @@ import java.time.LocalDateTime;
 @Builder
 public class Request {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,13 @@
+package ru.practicum.main_service.event.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the views and confirmed requests lookups need to know about an event,
+ * so they work both for entities and for listing projections.
+ */
+public interface ViewableEvent {
+    Long getId();
+
+    LocalDateTime getPublishedOn();
+}
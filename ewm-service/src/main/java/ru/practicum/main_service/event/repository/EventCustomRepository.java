@@ -1,7 +1,11 @@
 package ru.practicum.main_service.event.repository;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.main_service.event.dto.EventClusterDto;
+import ru.practicum.main_service.event.dto.EventFacetCount;
+import ru.practicum.main_service.event.dto.EventShortView;
 import ru.practicum.main_service.event.enums.EventState;
+import ru.practicum.main_service.event.geo.GeoArea;
 import ru.practicum.main_service.event.model.Event;
 
 import java.time.LocalDateTime;
@@ -12,6 +16,13 @@ public interface EventCustomRepository {
     Set<Event> getEventsByAdmin(List<Long> users, List<EventState> states, List<Long> categories,
                                 LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size, Pageable pageable);
 
-    Set<Event> getEventsByPublic(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
-                                 LocalDateTime rangeEnd, Integer from, Integer size, Pageable pageable);
+    List<EventShortView> getEventsByPublic(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
+                                           LocalDateTime rangeEnd, GeoArea area, Integer from, Integer size,
+                                           Pageable pageable);
+
+    List<EventClusterDto> getEventClusters(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
+                                           LocalDateTime rangeEnd, GeoArea area, int precision);
+
+    List<EventFacetCount> getEventFacetCounts(String text, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                              GeoArea area);
 }
\ No newline at end of file
@@ -1,16 +1,29 @@
 package ru.practicum.main_service.event.repository;
 
+import org.hibernate.annotations.QueryHints;
+import org.springframework.cloud.sleuth.annotation.NewSpan;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.main_service.category.model.Category;
+import ru.practicum.main_service.event.dto.EventClusterDto;
+import ru.practicum.main_service.event.dto.EventFacetCount;
+import ru.practicum.main_service.event.dto.EventShortView;
 import ru.practicum.main_service.event.enums.EventState;
+import ru.practicum.main_service.event.geo.GeoArea;
+import ru.practicum.main_service.event.geo.GeoHash;
 import ru.practicum.main_service.event.model.Event;
+import ru.practicum.main_service.event.model.Location;
+import ru.practicum.main_service.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -31,6 +44,7 @@ public class EventCustomRepositoryImpl implements EventCustomRepository {
      * @return множество событий, подходящих под указанные критерии
      */
     @Override
+    @NewSpan("events-search-admin")
     public Set<Event> getEventsByAdmin(List<Long> users, List<EventState> states, List<Long> categories,
                                        LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size, Pageable pageable) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
@@ -65,8 +79,9 @@ public class EventCustomRepositoryImpl implements EventCustomRepository {
 
         query.select(root).where(criteria);
 
-        // Применение пагинации
+        // Применение пагинации, события только читаются, поэтому Hibernate не хранит их снимки для dirty checking
         return entityManager.createQuery(query)
+                .setHint(QueryHints.READ_ONLY, true)
                 .setFirstResult(from)
                 .setMaxResults(size)
                 .getResultStream()
@@ -80,15 +95,107 @@ public class EventCustomRepositoryImpl implements EventCustomRepository {
      * @param paid флаг платности события
      * @param rangeStart начало временного диапазона
      * @param rangeEnd конец временного диапазона
+     * @param area область поиска по местоположению, результаты тогда упорядочены по расстоянию от её центра
      * @param from начальный индекс для пагинации
      * @param size количество записей для возврата
-     * @return множество событий, подходящих под указанные критерии
+     * @return проекции событий, подходящих под указанные критерии, только с колонками EventShortDto
      */
-    public Set<Event> getEventsByPublic(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
-                                        LocalDateTime rangeEnd, Integer from, Integer size, Pageable pageable) {
+    @Override
+    @NewSpan("events-search-public")
+    public List<EventShortView> getEventsByPublic(String text, List<Long> categories, Boolean paid,
+                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd, GeoArea area,
+                                                  Integer from, Integer size, Pageable pageable) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Event> query = builder.createQuery(Event.class);
+        CriteriaQuery<EventShortView> query = builder.createQuery(EventShortView.class);
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Category> category = root.join("category");
+        Join<Event, User> initiator = root.join("initiator");
+        Predicate criteria = publicCriteria(builder, root, text, categories, paid, rangeStart, rangeEnd);
+
+        // Фильтрация по местоположению и сортировка по расстоянию
+        if (area != null) {
+            Join<Event, Location> location = root.join("location");
+            criteria = builder.and(criteria, geoPredicate(builder, location, area));
+            query.orderBy(builder.asc(squaredDistance(builder, location, area)), builder.asc(root.get("id")));
+        }
+
+        // Выборка одним join только колонок EventShortDto, без description и location
+        query.select(builder.construct(EventShortView.class,
+                root.get("id"), root.get("annotation"), category.get("id"), category.get("name"),
+                root.get("eventDate"), initiator.get("id"), initiator.get("name"), root.get("paid"),
+                root.get("title"), root.get("participantLimit"), root.get("publishedOn"))).where(criteria);
+
+        return entityManager.createQuery(query)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Группирует опубликованные события области по ячейкам geohash одним запросом.
+     * @param area область поиска
+     * @param precision длина geohash ячеек, по которым группируются события
+     * @return количество событий и центр их местоположений для каждой непустой ячейки
+     */
+    @Override
+    @NewSpan("events-clusters")
+    public List<EventClusterDto> getEventClusters(String text, List<Long> categories, Boolean paid,
+                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd, GeoArea area,
+                                                  int precision) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventClusterDto> query = builder.createQuery(EventClusterDto.class);
         Root<Event> root = query.from(Event.class);
+        Join<Event, Location> location = root.join("location");
+        Expression<String> cell = builder.substring(location.get("geohash"), 1, precision);
+
+        Predicate criteria = builder.and(
+                publicCriteria(builder, root, text, categories, paid, rangeStart, rangeEnd),
+                geoPredicate(builder, location, area));
+
+        query.select(builder.construct(EventClusterDto.class, cell,
+                        builder.avg(location.get("lat")), builder.avg(location.get("lon")), builder.count(root)))
+                .where(criteria)
+                .groupBy(cell);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Считает опубликованные события по категориям и платности одним сгруппированным запросом.
+     * Фильтры по категориям и платности не применяются, их учитывает сервис при сборке фасетов.
+     * @param text текст для поиска в аннотации и описании событий
+     * @param rangeStart начало временного диапазона
+     * @param rangeEnd конец временного диапазона
+     * @param area область поиска по местоположению
+     * @return количество событий для каждой пары категории и флага платности
+     */
+    @Override
+    @NewSpan("events-facets")
+    public List<EventFacetCount> getEventFacetCounts(String text, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                     GeoArea area) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventFacetCount> query = builder.createQuery(EventFacetCount.class);
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Category> category = root.join("category");
+        Predicate criteria = publicCriteria(builder, root, text, null, null, rangeStart, rangeEnd);
+
+        if (area != null) {
+            criteria = builder.and(criteria, geoPredicate(builder, root.join("location"), area));
+        }
+
+        query.select(builder.construct(EventFacetCount.class,
+                        category.get("id"), category.get("name"), root.get("paid"), builder.count(root)))
+                .where(criteria)
+                .groupBy(category.get("id"), category.get("name"), root.get("paid"));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Фильтры публичного поиска: только опубликованные события, по умолчанию ещё не начавшиеся.
+     */
+    private Predicate publicCriteria(CriteriaBuilder builder, Root<Event> root, String text, List<Long> categories,
+                                     Boolean paid, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
         Predicate criteria = builder.conjunction();
 
         // Фильтрация по тексту
@@ -123,12 +230,42 @@ public class EventCustomRepositoryImpl implements EventCustomRepository {
         // Фильтрация по состоянию
         criteria = builder.and(criteria, root.get("state").in(EventState.PUBLISHED));
 
-        query.select(root).where(criteria);
+        return criteria;
+    }
 
-        return entityManager.createQuery(query)
-                .setFirstResult(from)
-                .setMaxResults(size)
-                .getResultStream()
-                .collect(Collectors.toSet());
+    /**
+     * Диапазоны geohash сужают выборку по индексу locations_geohash_idx, границы области и радиус отсекают лишнее.
+     */
+    private Predicate geoPredicate(CriteriaBuilder builder, Join<Event, Location> location, GeoArea area) {
+        List<Predicate> cells = new ArrayList<>();
+        for (String cell : area.getGeoHashCells()) {
+            String upperBound = GeoHash.upperBound(cell);
+            Predicate fromCell = builder.greaterThanOrEqualTo(location.get("geohash"), cell);
+            cells.add(upperBound == null ? fromCell
+                    : builder.and(fromCell, builder.lessThan(location.get("geohash"), upperBound)));
+        }
+
+        Predicate predicate = builder.and(
+                builder.between(location.get("lat"), (float) area.getMinLat(), (float) area.getMaxLat()),
+                builder.between(location.get("lon"), (float) area.getMinLon(), (float) area.getMaxLon()));
+        if (!cells.isEmpty()) {
+            predicate = builder.and(builder.or(cells.toArray(new Predicate[0])), predicate);
+        }
+        if (area.isCircle()) {
+            float radius = (float) area.getRadiusDegrees();
+            predicate = builder.and(predicate,
+                    builder.lessThanOrEqualTo(squaredDistance(builder, location, area), radius * radius));
+        }
+        return predicate;
+    }
+
+    /**
+     * Квадрат расстояния до центра области в градусах широты, в равнопромежуточной проекции.
+     */
+    private Expression<Float> squaredDistance(CriteriaBuilder builder, Join<Event, Location> location, GeoArea area) {
+        Expression<Float> latDelta = builder.diff(location.get("lat"), (float) area.getCenterLat());
+        Expression<Float> lonDelta = builder.prod(builder.diff(location.get("lon"), (float) area.getCenterLon()),
+                (float) area.getLonScale());
+        return builder.sum(builder.prod(latDelta, latDelta), builder.prod(lonDelta, lonDelta));
     }
 }
\ No newline at end of file
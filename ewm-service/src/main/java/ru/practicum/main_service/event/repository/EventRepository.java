@@ -2,14 +2,35 @@ package ru.practicum.main_service.event.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.main_service.event.dto.EventShortView;
+import ru.practicum.main_service.event.dto.EventTitleView;
+import ru.practicum.main_service.event.enums.EventState;
 import ru.practicum.main_service.event.model.Event;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface EventRepository extends JpaRepository<Event, Long>, EventCustomRepository {
-    List<Event> findAllByInitiatorId(Long userId, Pageable pageable);
+    @Query("SELECT new ru.practicum.main_service.event.dto.EventShortView(e.id, e.annotation, c.id, c.name, " +
+            "e.eventDate, u.id, u.name, e.paid, e.title, e.participantLimit, e.publishedOn) " +
+            "FROM Event AS e " +
+            "JOIN e.category AS c " +
+            "JOIN e.initiator AS u " +
+            "WHERE u.id = ?1")
+    List<EventShortView> findShortViewsByInitiatorId(Long userId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.main_service.event.dto.EventTitleView(e.id, e.title, e.eventDate, e.publishedOn) " +
+            "FROM Event AS e " +
+            "WHERE e.state = ?1 AND e.eventDate > ?2")
+    List<EventTitleView> findTitleViewsByStateAndEventDateAfter(EventState state, LocalDateTime eventDate);
+
+    @Query("SELECT new ru.practicum.main_service.event.dto.EventTitleView(e.id, e.title, e.eventDate, e.publishedOn) " +
+            "FROM Event AS e " +
+            "WHERE e.id = ?1 AND e.state = ?2")
+    Optional<EventTitleView> findTitleViewByIdAndState(Long eventId, EventState state);
 
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
@@ -0,0 +1,9 @@
+package ru.practicum.main_service.event.repository;
+
+import java.util.Optional;
+
+public interface LocationCustomRepository {
+    Optional<Long> findIdByCoordinates(Float lat, Float lon);
+
+    Long upsert(Float lat, Float lon, String geohash);
+}
@@ -0,0 +1,85 @@
+package ru.practicum.main_service.event.repository;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+public class LocationCustomRepositoryImpl implements LocationCustomRepository {
+    private static final String POSTGRES_UPSERT = "INSERT INTO locations (id, lat, lon, geohash) " +
+            "VALUES (nextval('locations_seq'), ?1, ?2, ?3) " +
+            "ON CONFLICT (lat, lon) DO UPDATE SET lat = EXCLUDED.lat " +
+            "RETURNING id";
+    private static final String MERGE = "MERGE INTO locations AS l " +
+            "USING (VALUES (CAST(? AS REAL), CAST(? AS REAL), CAST(? AS VARCHAR))) AS s (lat, lon, geohash) " +
+            "ON l.lat = s.lat AND l.lon = s.lon " +
+            "WHEN NOT MATCHED THEN INSERT (id, lat, lon, geohash) VALUES (NEXT VALUE FOR locations_seq, s.lat, s.lon, s.geohash)";
+    private static final String SELECT_ID = "SELECT id FROM locations WHERE lat = ?1 AND lon = ?2";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    @Override
+    public Optional<Long> findIdByCoordinates(Float lat, Float lon) {
+        List<?> ids = entityManager.createNativeQuery(SELECT_ID)
+                .setParameter(1, lat)
+                .setParameter(2, lon)
+                .getResultList();
+        return ids.stream().findFirst().map(LocationCustomRepositoryImpl::toLong);
+    }
+
+    /**
+     * Returns the id of the location with these coordinates, inserting it if there is none.
+     * On Postgres this is one INSERT ... ON CONFLICT statement; other databases (H2 in tests) merge and then select.
+     * Concurrent calls with the same coordinates get the same row thanks to the unique (lat, lon) constraint.
+     * A concurrent merge that loses the race fails on that constraint; it runs on the JDBC connection, so the failure
+     * does not mark the transaction for rollback and the row of the winner is selected instead.
+     */
+    @Override
+    public Long upsert(Float lat, Float lon, String geohash) {
+        if (isPostgres()) {
+            return toLong(entityManager.createNativeQuery(POSTGRES_UPSERT)
+                    .setParameter(1, lat)
+                    .setParameter(2, lon)
+                    .setParameter(3, geohash)
+                    .getSingleResult());
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(MERGE)) {
+                statement.setFloat(1, lat);
+                statement.setFloat(2, lon);
+                statement.setString(3, geohash);
+                statement.executeUpdate();
+            } catch (SQLException exception) {
+                if (!UNIQUE_VIOLATION.equals(exception.getSQLState())) {
+                    throw exception;
+                }
+            }
+        });
+        return toLong(entityManager.createNativeQuery(SELECT_ID)
+                .setParameter(1, lat)
+                .setParameter(2, lon)
+                .getSingleResult());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            // The configured dialect is Postgres in every profile, so the actual database is asked instead
+            postgres = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private static Long toLong(Object id) {
+        return ((Number) id).longValue();
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.main_service.event.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.main_service.event.dto.RequestStats;
@@ -7,12 +9,21 @@ import ru.practicum.main_service.event.enums.RequestStatus;
 import ru.practicum.main_service.event.model.Request;
 
 import java.util.List;
-import java.util.Optional;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
-    List<Request> findAllByRequesterId(Long requesterId);
+    List<Request> findAllByRequesterId(Long requesterId, Pageable pageable);
 
-    Optional<Request> findByEventIdAndRequesterId(Long eventId, Long userId);
+    List<Request> findAllByRequesterId(Long requesterId, Sort sort);
+
+    boolean existsByIdAndRequesterId(Long id, Long requesterId);
+
+    @Query("SELECT r " +
+            "FROM Request AS r " +
+            "WHERE r.requester.id = ?1 " +
+            "AND (r.created < (SELECT cur.created FROM Request AS cur WHERE cur.id = ?2) " +
+            "OR r.created = (SELECT cur.created FROM Request AS cur WHERE cur.id = ?2) AND r.id < ?2) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<Request> findAllByRequesterIdBefore(Long requesterId, Long beforeId, Pageable pageable);
 
     List<Request> findAllByEventIdAndStatus(Long eventId, RequestStatus status);
 
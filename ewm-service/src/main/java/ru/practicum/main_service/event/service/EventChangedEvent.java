@@ -0,0 +1,20 @@
+package ru.practicum.main_service.event.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.main_service.event.model.Location;
+
+/**
+ * Published when an event that is or was visible to the public changes, so that views derived from published
+ * events can drop what they have cached. Listeners get it after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EventChangedEvent {
+    Long eventId;
+    Location previousLocation;
+    Location location;
+}
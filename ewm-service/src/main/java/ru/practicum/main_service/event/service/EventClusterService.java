@@ -0,0 +1,11 @@
+package ru.practicum.main_service.event.service;
+
+import ru.practicum.main_service.event.dto.EventClusterDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventClusterService {
+    List<EventClusterDto> getEventClusters(int zoom, int x, int y, String text, List<Long> categories, Boolean paid,
+                                           LocalDateTime rangeStart, LocalDateTime rangeEnd);
+}
@@ -0,0 +1,119 @@
+package ru.practicum.main_service.event.service;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.main_service.event.dto.EventClusterDto;
+import ru.practicum.main_service.event.geo.GeoArea;
+import ru.practicum.main_service.event.geo.GeoHash;
+import ru.practicum.main_service.event.model.Location;
+import ru.practicum.main_service.event.repository.EventRepository;
+import ru.practicum.main_service.exception.BadRequestException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Counts published events per geohash cell of a map tile. Results are cached per tile, zoom and filter
+ * for a short time, and the tiles containing an event are dropped from the cache when the event changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class EventClusterServiceImpl implements EventClusterService {
+    private static final int CELLS_PER_TILE_SIDE = 8;
+
+    private final EventRepository eventRepository;
+
+    @Value("${ewm.clusters.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${ewm.clusters.cache-ttl:60s}")
+    private Duration cacheTtl;
+
+    private final Map<ClusterKey, CachedClusters> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ClusterKey, CachedClusters> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+
+    @Override
+    public List<EventClusterDto> getEventClusters(int zoom, int x, int y, String text, List<Long> categories,
+                                                  Boolean paid, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        log.debug("Output of event clusters for the tile zoom = {}, x = {}, y = {} with parameters text = {}, " +
+                "categoriesId = {}, paid = {}, rangeStart = {}, rangeEnd = {}",
+                zoom, x, y, text, categories, paid, rangeStart, rangeEnd);
+
+        if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
+            throw new BadRequestException(String.format("Field: eventDate. Error: incorrect parameters of the temporary " +
+                    "interval. Value: rangeStart = %s, rangeEnd = %s", rangeStart, rangeEnd));
+        }
+
+        GeoArea tile = GeoArea.tile(zoom, x, y);
+        List<Long> sortedCategories = categories == null ? null : categories.stream()
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        ClusterKey key = new ClusterKey(zoom, x, y, text, sortedCategories, paid, rangeStart, rangeEnd);
+
+        CachedClusters cached = cache.get(key);
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            return cached.clusters;
+        }
+
+        int precision = GeoHash.precisionFor((tile.getMaxLon() - tile.getMinLon()) / CELLS_PER_TILE_SIDE);
+        List<EventClusterDto> clusters = List.copyOf(eventRepository.getEventClusters(
+                text, sortedCategories, paid, rangeStart, rangeEnd, tile, precision));
+
+        cache.put(key, new CachedClusters(tile, clusters, System.nanoTime() + cacheTtl.toNanos()));
+        return clusters;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        List<Location> locations = Stream.of(event.getPreviousLocation(), event.getLocation())
+                .filter(location -> location != null)
+                .distinct()
+                .collect(Collectors.toList());
+
+        synchronized (cache) {
+            cache.values().removeIf(cached -> locations.stream()
+                    .anyMatch(location -> cached.tile.contains(location.getLat(), location.getLon())));
+        }
+        log.debug("Clusters of the tiles containing the event with id {} are evicted", event.getEventId());
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class ClusterKey {
+        private final int zoom;
+        private final int x;
+        private final int y;
+        private final String text;
+        private final List<Long> categories;
+        private final Boolean paid;
+        private final LocalDateTime rangeStart;
+        private final LocalDateTime rangeEnd;
+    }
+
+    @AllArgsConstructor
+    private static class CachedClusters {
+        private final GeoArea tile;
+        private final List<EventClusterDto> clusters;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.main_service.event.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@AllArgsConstructor
+public class EventEnrichment {
+    Map<Long, Long> views;
+    Map<Long, Long> confirmedRequests;
+    Map<Long, Long> comments;
+
+    public Long getViews(Long eventId) {
+        return views.getOrDefault(eventId, 0L);
+    }
+
+    public Long getConfirmedRequests(Long eventId) {
+        return confirmedRequests.getOrDefault(eventId, 0L);
+    }
+
+    public Long getComments(Long eventId) {
+        return comments.getOrDefault(eventId, 0L);
+    }
+}
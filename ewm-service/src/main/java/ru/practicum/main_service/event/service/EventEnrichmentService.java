@@ -0,0 +1,9 @@
+package ru.practicum.main_service.event.service;
+
+import ru.practicum.main_service.event.model.ViewableEvent;
+
+import java.util.Collection;
+
+public interface EventEnrichmentService {
+    EventEnrichment enrich(Collection<? extends ViewableEvent> events, boolean withComments);
+}
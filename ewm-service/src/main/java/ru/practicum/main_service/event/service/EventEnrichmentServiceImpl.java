@@ -0,0 +1,106 @@
+package ru.practicum.main_service.event.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.sleuth.annotation.NewSpan;
+import org.springframework.stereotype.Service;
+import ru.practicum.main_service.comment.repository.CommentRepository;
+import ru.practicum.main_service.event.model.ViewableEvent;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the lookups behind an event listing (views, confirmed requests, comment counts).
+ * The remote views are fetched in parallel with the database lookups, have a timeout and degrade to zeros.
+ * Confirmed requests and comments run on the calling thread, inside its transaction: a worker thread would need
+ * a second connection while the caller holds one, which exhausts the pool under load. Their failures fail
+ * the listing instead of reporting wrong counts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventEnrichmentServiceImpl implements EventEnrichmentService {
+    private static final String TIMER_NAME = "ewm.events.enrichment";
+
+    private final StatsService statsService;
+    private final CommentRepository commentRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ewm.enrichment.views-timeout:3s}")
+    private Duration viewsTimeout;
+
+    @Override
+    @NewSpan("events-enrichment")
+    public EventEnrichment enrich(Collection<? extends ViewableEvent> events, boolean withComments) {
+        if (events.isEmpty()) {
+            return new EventEnrichment(Map.of(), Map.of(), Map.of());
+        }
+
+        CompletableFuture<Map<Long, Long>> views = withFallback("views", viewsTimeout,
+                timed("views", statsService.getViewsAsync(events)));
+        Map<Long, Long> confirmedRequests = timed("confirmedRequests",
+                () -> statsService.getConfirmedRequests(events));
+        Map<Long, Long> comments = withComments
+                ? timed("comments", () -> getComments(events))
+                : Map.of();
+
+        return new EventEnrichment(views.join(), confirmedRequests, comments);
+    }
+
+    private Map<Long, Long> getComments(Collection<? extends ViewableEvent> events) {
+        List<Long> eventsId = events.stream()
+                .map(ViewableEvent::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, Long> comments = new HashMap<>();
+        commentRepository.findAllCommentsByEventId(eventsId)
+                .forEach(result -> comments.put((Long) result[0], (Long) result[1]));
+        return comments;
+    }
+
+    private Map<Long, Long> timed(String source, Supplier<Map<Long, Long>> lookup) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Map<Long, Long> result = lookup.get();
+            sample.stop(timer(source, null));
+            return result;
+        } catch (RuntimeException exception) {
+            sample.stop(timer(source, exception));
+            throw exception;
+        }
+    }
+
+    private CompletableFuture<Map<Long, Long>> timed(String source, CompletableFuture<Map<Long, Long>> lookup) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return lookup.whenComplete((result, exception) -> sample.stop(timer(source, exception)));
+    }
+
+    private CompletableFuture<Map<Long, Long>> withFallback(String source, Duration timeout,
+                                                           CompletableFuture<Map<Long, Long>> lookup) {
+        return lookup
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(exception -> {
+                    log.warn("Enrichment source {} failed, zeros are reported instead: {}", source, exception.toString());
+                    return Map.of();
+                });
+    }
+
+    private Timer timer(String source, Throwable exception) {
+        return Timer.builder(TIMER_NAME)
+                .tag("source", source)
+                .tag("outcome", exception == null ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
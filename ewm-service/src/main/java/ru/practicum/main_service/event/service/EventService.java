@@ -1,11 +1,13 @@
 package ru.practicum.main_service.event.service;
 
 import ru.practicum.main_service.event.dto.EventFullDto;
+import ru.practicum.main_service.event.dto.EventSearchResultDto;
 import ru.practicum.main_service.event.dto.EventShortDto;
 import ru.practicum.main_service.event.dto.NewEventDto;
 import ru.practicum.main_service.event.dto.UpdateEventRequest.UpdateEventAdminRequest;
 import ru.practicum.main_service.event.dto.UpdateEventRequest.UpdateEventUserRequest;
 import ru.practicum.main_service.event.enums.EventState;
+import ru.practicum.main_service.event.geo.GeoArea;
 import ru.practicum.main_service.event.model.Event;
 
 import javax.servlet.http.HttpServletRequest;
@@ -28,7 +30,13 @@ public interface EventService {
     EventFullDto patchEventByPrivate(Long userId, Long eventId, UpdateEventUserRequest updateEventUserRequest);
 
     List<EventShortDto> getEventsByPublic(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
-                                          LocalDateTime rangeEnd, Boolean onlyAvailable, Integer from, Integer size, HttpServletRequest request);
+                                          LocalDateTime rangeEnd, GeoArea area, Boolean onlyAvailable, Integer from,
+                                          Integer size, HttpServletRequest request);
+
+    EventSearchResultDto getEventsWithFacetsByPublic(String text, List<Long> categories, Boolean paid,
+                                                     LocalDateTime rangeStart, LocalDateTime rangeEnd, GeoArea area,
+                                                     Boolean onlyAvailable, Integer from, Integer size,
+                                                     HttpServletRequest request);
 
     EventFullDto getEventByPublic(Long id, HttpServletRequest request);
 
@@ -1,7 +1,12 @@
 package ru.practicum.main_service.event.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -9,25 +14,29 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.main_service.category.model.Category;
 import ru.practicum.main_service.category.service.CategoryService;
-import ru.practicum.main_service.comment.repository.CommentRepository;
+import ru.practicum.main_service.event.dto.CategoryFacetDto;
+import ru.practicum.main_service.event.dto.EventFacetCount;
+import ru.practicum.main_service.event.dto.EventFacetsDto;
 import ru.practicum.main_service.event.dto.EventFullDto;
+import ru.practicum.main_service.event.dto.EventSearchResultDto;
 import ru.practicum.main_service.event.dto.EventShortDto;
+import ru.practicum.main_service.event.dto.EventShortView;
 import ru.practicum.main_service.event.dto.LocationDto;
 import ru.practicum.main_service.event.dto.NewEventDto;
 import ru.practicum.main_service.event.dto.UpdateEventRequest.UpdateEventAdminRequest;
 import ru.practicum.main_service.event.dto.UpdateEventRequest.UpdateEventUserRequest;
 import ru.practicum.main_service.event.enums.EventState;
+import ru.practicum.main_service.event.geo.GeoArea;
 import ru.practicum.main_service.event.mapper.EventMapper;
-import ru.practicum.main_service.event.mapper.LocationMapper;
 import ru.practicum.main_service.event.model.Event;
 import ru.practicum.main_service.event.model.Location;
 import ru.practicum.main_service.event.repository.EventRepository;
-import ru.practicum.main_service.event.repository.LocationRepository;
 import ru.practicum.main_service.exception.BadRequestException;
 import ru.practicum.main_service.exception.ForbiddenException;
 import ru.practicum.main_service.exception.NotFoundException;
 import ru.practicum.main_service.user.model.User;
 import ru.practicum.main_service.user.service.UserService;
+import ru.practicum.main_service.validation.ExistenceValidator;
 import ru.practicum.stats_common.model.ViewStats;
 
 import javax.servlet.http.HttpServletRequest;
@@ -41,26 +50,31 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "ewm.events.service", histogram = true)
 @Slf4j
 public class EventServiceImpl implements EventService {
     private final UserService userService;
     private final CategoryService categoryService;
-    private final CommentRepository commentRepository;
     private final StatsService statsService;
-    private final LocationRepository locationRepository;
+    private final EventEnrichmentService eventEnrichmentService;
+    private final LocationService locationService;
+    private final ExistenceValidator existenceValidator;
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
-    private final LocationMapper locationMapper;
+    private final ObjectProvider<Tracer> tracer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Set<EventFullDto> getEventsByAdmin(List<Long> users, List<EventState> states, List<Long> categories,
                                               LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size) {
-        log.info("Output of events to the administrator's request with the users parameters = {}, states = {}, categoriesId = {}, " +
+        log.debug("Output of events to the administrator's request with the users parameters = {}, states = {}, categoriesId = {}, " +
                         "rangeStart = {}, rangeEnd = {}, from = {}, size = {}",
                 users, states, categories, rangeStart, rangeEnd, from, size);
 
@@ -81,11 +95,13 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public EventFullDto patchEventByAdmin(Long eventId, UpdateEventAdminRequest updateEventAdminRequest) {
-        log.info("Updating an event with an id {} at the request of the administrator with the parameters {}", eventId, updateEventAdminRequest);
+        log.debug("Updating an event with an id {} at the request of the administrator with the parameters {}", eventId, updateEventAdminRequest);
 
         checkNewEventDate(updateEventAdminRequest.getEventDate(), LocalDateTime.now().plusHours(1));
 
         Event event = getEventById(eventId);
+        Location previousLocation = event.getLocation();
+        boolean wasPublished = event.getState() == EventState.PUBLISHED;
 
         if (updateEventAdminRequest.getAnnotation() != null && !updateEventAdminRequest.getAnnotation().isBlank()) {
             event.setAnnotation(updateEventAdminRequest.getAnnotation());
@@ -107,10 +123,6 @@ public class EventServiceImpl implements EventService {
             event.setPaid(updateEventAdminRequest.getPaid());
         }
 
-        if (updateEventAdminRequest.getLocation() != null) {
-            event.setLocation(getOrSaveLocation(updateEventAdminRequest.getLocation()));
-        }
-
         if (updateEventAdminRequest.getParticipantLimit() != null) {
             checkIsNewLimitNotLessOld(updateEventAdminRequest.getParticipantLimit(),
                     statsService.getConfirmedRequests(Set.of(event)).getOrDefault(eventId, 0L));
@@ -143,7 +155,19 @@ public class EventServiceImpl implements EventService {
             event.setTitle(updateEventAdminRequest.getTitle());
         }
 
-        return toEventFullDto(eventRepository.save(event));
+        // Местоположение сохраняется после всех проверок, которые могут отклонить запрос
+        if (updateEventAdminRequest.getLocation() != null) {
+            event.setLocation(getOrSaveLocation(updateEventAdminRequest.getLocation()));
+        }
+
+        Event savedEvent = eventRepository.save(event);
+
+        // Пользователь меняет только неопубликованные события, поэтому публичные данные меняются только здесь
+        if (wasPublished || savedEvent.getState() == EventState.PUBLISHED) {
+            eventPublisher.publishEvent(new EventChangedEvent(eventId, previousLocation, savedEvent.getLocation()));
+        }
+
+        return toEventFullDto(savedEvent);
     }
 
     @Override
@@ -156,16 +180,16 @@ public class EventServiceImpl implements EventService {
         Pageable pageableByPrivate;
         pageableByPrivate = PageRequest.of(Objects.requireNonNullElse(from, 0), size, sort);
 
-        userService.getUserById(userId);
-        List<Event> events = eventRepository.findAllByInitiatorId(userId, pageableByPrivate);
+        existenceValidator.checkUserExists(userId);
+        List<EventShortView> events = eventRepository.findShortViewsByInitiatorId(userId, pageableByPrivate);
 
-        return toEventsShortDto(new HashSet<>(events));
+        return toEventsShortDto(events, true);
     }
 
     @Override
     @Transactional
     public EventFullDto createEventByPrivate(Long userId, NewEventDto newEventDto) {
-        log.info("Creating a new event by a user with id {} and parameters{}", userId, newEventDto);
+        log.debug("Creating a new event by a user with id {} and parameters{}", userId, newEventDto);
 
         checkNewEventDate(newEventDto.getEventDate(), LocalDateTime.now().plusHours(2));
 
@@ -181,9 +205,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public EventFullDto getEventByPrivate(Long userId, Long eventId) {
-        log.info("Event output with id {}, created by a user with id {}", eventId, userId);
-
-        userService.getUserById(userId);
+        log.debug("Event output with id {}, created by a user with id {}", eventId, userId);
 
         Event event = getEventByIdAndInitiatorId(eventId, userId);
 
@@ -193,13 +215,11 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public EventFullDto patchEventByPrivate(Long userId, Long eventId, UpdateEventUserRequest updateEventUserRequest) {
-        log.info("Event update with id {} at the request of the user with id {} with new parameters {}",
+        log.debug("Event update with id {} at the request of the user with id {} with new parameters {}",
                 eventId, userId, updateEventUserRequest);
 
         checkNewEventDate(updateEventUserRequest.getEventDate(), LocalDateTime.now().plusHours(2));
 
-        userService.getUserById(userId);
-
         Event event = getEventByIdAndInitiatorId(eventId, userId);
 
         if (event.getState().equals(EventState.PUBLISHED)) {
@@ -259,10 +279,12 @@ public class EventServiceImpl implements EventService {
     @Override
     public List<EventShortDto> getEventsByPublic(
             String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart, LocalDateTime rangeEnd,
-            Boolean onlyAvailable, Integer from, Integer size, HttpServletRequest request) {
-        log.info("Output of events to a public request with parameters text = {}, categoriesId = {}, paid = {}, rangeStart = {}, " +
-                        "rangeEnd = {}, onlyAvailable = {}, from = {}, size = {}",
-                text, categories, paid, rangeStart, rangeEnd, onlyAvailable, from, size);
+            GeoArea area, Boolean onlyAvailable, Integer from, Integer size, HttpServletRequest request) {
+        if (log.isDebugEnabled()) {
+            log.debug("Output of events to a public request with parameters text = {}, categoriesId = {}, paid = {}, rangeStart = {}, " +
+                            "rangeEnd = {}, area = {}, onlyAvailable = {}, from = {}, size = {}",
+                    text, categories, paid, rangeStart, rangeEnd, area, onlyAvailable, from, size);
+        }
 
         checkStartIsBeforeEnd(rangeStart, rangeEnd);
 
@@ -275,7 +297,8 @@ public class EventServiceImpl implements EventService {
         pageableByPublic = PageRequest.of(Objects.requireNonNullElse(from, 0), size, sortPublic);
         int fromDB = Objects.isNull(from) ? 0 : from;
 
-        Set<Event> events = eventRepository.getEventsByPublic(text, categories, paid, rangeStart, rangeEnd, fromDB, size, pageableByPublic);
+        List<EventShortView> events = eventRepository.getEventsByPublic(text, categories, paid, rangeStart, rangeEnd, area,
+                fromDB, size, pageableByPublic);
 
         if (events.isEmpty()) {
             return List.of();
@@ -284,13 +307,14 @@ public class EventServiceImpl implements EventService {
         Map<Long, Integer> eventsParticipantLimit = new HashMap<>();
         events.forEach(event -> eventsParticipantLimit.put(event.getId(), event.getParticipantLimit()));
 
-        Set<EventShortDto> eventsShortDto = toEventsShortDto(events);
+        // При поиске по местоположению события остаются в порядке удалённости от центра, в котором их вернул запрос
+        Set<EventShortDto> eventsShortDto = toEventsShortDto(events, area == null);
 
         if (onlyAvailable) {
             eventsShortDto = eventsShortDto.stream()
                     .filter(eventShort -> (eventsParticipantLimit.get(eventShort.getId()) == 0 ||
                             eventsParticipantLimit.get(eventShort.getId()) > eventShort.getConfirmedRequests()))
-                    .collect(Collectors.toSet());
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
         }
 
         List<EventShortDto> sortedList = new ArrayList<>(eventsShortDto);
@@ -300,9 +324,57 @@ public class EventServiceImpl implements EventService {
         return sortedList;
     }
 
+    @Override
+    public EventSearchResultDto getEventsWithFacetsByPublic(
+            String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+            GeoArea area, Boolean onlyAvailable, Integer from, Integer size, HttpServletRequest request) {
+        List<EventShortDto> events = getEventsByPublic(text, categories, paid, rangeStart, rangeEnd, area,
+                onlyAvailable, from, size, request);
+
+        return new EventSearchResultDto(events, getEventFacets(text, categories, paid, rangeStart, rangeEnd, area));
+    }
+
+    /**
+     * Считает фасеты одним сгруппированным запросом, без обогащения событий, поэтому onlyAvailable не учитывается.
+     */
+    private EventFacetsDto getEventFacets(String text, List<Long> categories, Boolean paid,
+                                          LocalDateTime rangeStart, LocalDateTime rangeEnd, GeoArea area) {
+        log.debug("Output of event facets to a public request with parameters text = {}, categoriesId = {}, paid = {}, " +
+                "rangeStart = {}, rangeEnd = {}, area = {}", text, categories, paid, rangeStart, rangeEnd, area);
+
+        List<EventFacetCount> counts = eventRepository.getEventFacetCounts(text, rangeStart, rangeEnd, area);
+        Set<Long> categoriesFilter = categories == null || categories.isEmpty() ? null : new HashSet<>(categories);
+
+        // Каждый фасет учитывает все фильтры, кроме своего
+        Map<Long, CategoryFacetDto> categoryFacets = new HashMap<>();
+        long paidCount = 0;
+        long freeCount = 0;
+        for (EventFacetCount count : counts) {
+            if (paid == null || paid.equals(count.getPaid())) {
+                CategoryFacetDto facet = categoryFacets.computeIfAbsent(count.getCategoryId(),
+                        id -> new CategoryFacetDto(id, count.getCategoryName(), 0L));
+                facet.setCount(facet.getCount() + count.getCount());
+            }
+            if (categoriesFilter == null || categoriesFilter.contains(count.getCategoryId())) {
+                if (count.getPaid()) {
+                    paidCount += count.getCount();
+                } else {
+                    freeCount += count.getCount();
+                }
+            }
+        }
+
+        List<CategoryFacetDto> categoryFacetsDto = categoryFacets.values().stream()
+                .sorted(Comparator.comparing(CategoryFacetDto::getCount).reversed()
+                        .thenComparing(CategoryFacetDto::getId))
+                .collect(Collectors.toList());
+
+        return new EventFacetsDto(categoryFacetsDto, paidCount, freeCount);
+    }
+
     @Override
     public EventFullDto getEventByPublic(Long eventId, HttpServletRequest request) {
-        log.info("Event output with id {} to a public inquiry", eventId);
+        log.debug("Event output with id {} to a public inquiry", eventId);
 
         Event event = getEventById(eventId);
 
@@ -317,7 +389,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public Event getEventById(Long eventId) {
-        log.info("Event output with id {}", eventId);
+        log.debug("Event output with id {}", eventId);
 
         return eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("There is no event with this id."));
@@ -325,7 +397,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public Set<Event> getEventsByIds(List<Long> eventsId) {
-        log.info("Output a list of events with ids {}", eventsId);
+        log.debug("Output a list of {} events", eventsId.size());
 
         if (eventsId.isEmpty()) {
             return new HashSet<>();
@@ -336,42 +408,53 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public Set<EventShortDto> toEventsShortDto(Set<Event> events) {
-        log.info("Converting a list of events to an EventShortDto {}", events);
-
-        Map<Long, Long> views = statsService.getViews(events);
-        Map<Long, Long> confirmedRequests = statsService.getConfirmedRequests(events);
-        List<Long> eventsId = new ArrayList<>();
+        log.debug("Converting a list of {} events to an EventShortDto", events.size());
 
-        for (Event event : events) {
-            eventsId.add(event.getId());
-        }
-        Map<Long, Long> comments = new HashMap<>();
-        for (Event event : events) {
-            comments.put(event.getId(), (long) commentRepository.findAllByEventId(event.getId(),
-                    PageRequest.of(0, 10)).size());
-        }
+        EventEnrichment enrichment = eventEnrichmentService.enrich(events, false);
 
-        return events.stream()
+        return inSpan("events-map-short", () -> events.stream()
                 .map((event) -> eventMapper.toEventShortDto(
                         event,
-                        confirmedRequests.getOrDefault(event.getId(), 0L),
-                        views.getOrDefault(event.getId(), 0L),
-                        comments.getOrDefault(event.getId(), 0L)))
+                        enrichment.getConfirmedRequests(event.getId()),
+                        enrichment.getViews(event.getId())))
                 .sorted(Comparator.comparing(EventShortDto::getEventDate))
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    /**
+     * Listings read projections instead of entities; EventShortDto has no comment count, so comments are not looked up.
+     */
+    private Set<EventShortDto> toEventsShortDto(List<EventShortView> events, boolean sortByEventDate) {
+        log.debug("Converting a list of {} event views to an EventShortDto", events.size());
+
+        EventEnrichment enrichment = eventEnrichmentService.enrich(events, false);
+
+        return inSpan("events-map-short", () -> {
+            Stream<EventShortDto> eventsShortDto = events.stream()
+                    .map((event) -> eventMapper.toEventShortDto(
+                            event,
+                            enrichment.getConfirmedRequests(event.getId()),
+                            enrichment.getViews(event.getId())));
+            if (sortByEventDate) {
+                eventsShortDto = eventsShortDto.sorted(Comparator.comparing(EventShortDto::getEventDate));
+            }
+            return eventsShortDto.collect(Collectors.toCollection(LinkedHashSet::new));
+        });
     }
 
     private Event getEventByIdAndInitiatorId(Long eventId, Long userId) {
-        log.info("Event output with id {}", eventId);
+        log.debug("Event output with id {}", eventId);
 
         return eventRepository.findByIdAndInitiatorId(eventId, userId)
-                .orElseThrow(() -> new NotFoundException("Event with this id don't exist."));
+                .orElseThrow(() -> {
+                    // An event owned by the user proves the user exists, so the user is only checked on a miss.
+                    existenceValidator.checkUserExists(userId);
+                    return new NotFoundException("Event with this id don't exist.");
+                });
     }
 
     private Location getOrSaveLocation(LocationDto locationDto) {
-        Location newLocation = locationMapper.toLocation(locationDto);
-        return locationRepository.findByLatAndLon(newLocation.getLat(), newLocation.getLon())
-                .orElseGet(() -> locationRepository.save(newLocation));
+        return locationService.getOrSave(locationDto);
     }
 
     private void checkStartIsBeforeEnd(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
@@ -418,15 +501,28 @@ public class EventServiceImpl implements EventService {
 
     private Set<EventFullDto> toEventsFullDto(Set<Event> events) {
 
-        Map<Long, Long> views = statsService.getViews(events);
-        Map<Long, Long> confirmedRequests = statsService.getConfirmedRequests(events);
+        EventEnrichment enrichment = eventEnrichmentService.enrich(events, false);
 
-        return events.stream()
+        return inSpan("events-map-full", () -> events.stream()
                 .map((event) -> eventMapper.toEventFullDto(
                         event,
-                        confirmedRequests.getOrDefault(event.getId(), 0L),
-                        views.getOrDefault(event.getId(), 0L)))
+                        enrichment.getConfirmedRequests(event.getId()),
+                        enrichment.getViews(event.getId())))
                 .sorted(Comparator.comparing(EventFullDto::getEventDate))
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    private <T> T inSpan(String name, Supplier<T> stage) {
+        Tracer tracer = this.tracer.getIfAvailable();
+        if (tracer == null) {
+            // spring.sleuth.enabled=false removes the tracer altogether
+            return stage.get();
+        }
+        Span span = tracer.nextSpan().name(name).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return stage.get();
+        } finally {
+            span.end();
+        }
     }
 }
\ No newline at end of file
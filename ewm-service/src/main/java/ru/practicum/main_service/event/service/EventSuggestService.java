@@ -0,0 +1,9 @@
+package ru.practicum.main_service.event.service;
+
+import ru.practicum.main_service.event.dto.EventSuggestionDto;
+
+import java.util.List;
+
+public interface EventSuggestService {
+    List<EventSuggestionDto> suggest(String prefix, int size);
+}
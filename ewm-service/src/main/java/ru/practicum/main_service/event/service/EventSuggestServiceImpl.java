@@ -0,0 +1,118 @@
+package ru.practicum.main_service.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.main_service.MainCommonUtils;
+import ru.practicum.main_service.event.dto.EventSuggestionDto;
+import ru.practicum.main_service.event.dto.EventTitleView;
+import ru.practicum.main_service.event.enums.EventState;
+import ru.practicum.main_service.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Title suggestions served from an in-memory {@link EventTitleIndex} of published upcoming events.
+ * <p>
+ * The index is first built on the scheduler thread right after startup, so the remote views lookups do not delay
+ * readiness; until then suggestions come from the empty index. It follows every change of a published event and
+ * is rebuilt periodically to refresh views and to drop past events, changes made during a rebuild are replayed
+ * on the new index before it replaces the old one.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class EventSuggestServiceImpl implements EventSuggestService {
+    private final EventRepository eventRepository;
+    private final StatsService statsService;
+
+    @Value("${ewm.suggest.views-batch-size:1000}")
+    private int viewsBatchSize;
+
+    private final Object rebuildLock = new Object();
+    private final Object writeLock = new Object();
+    private volatile EventTitleIndex index = new EventTitleIndex(MainCommonUtils.MAX_SUGGESTIONS);
+    // Изменения во время перестроения, null означает удаление события из индекса
+    private Map<Long, EventTitleView> changedDuringRebuild;
+
+    @Override
+    public List<EventSuggestionDto> suggest(String prefix, int size) {
+        return index.search(prefix, size, LocalDateTime.now()).stream()
+                .map(entry -> new EventSuggestionDto(entry.getId(), entry.getTitle()))
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${ewm.suggest.rebuild-interval:PT10M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long startedAt = System.nanoTime();
+            synchronized (writeLock) {
+                changedDuringRebuild = new HashMap<>();
+            }
+
+            try {
+                EventTitleIndex rebuilt = new EventTitleIndex(MainCommonUtils.MAX_SUGGESTIONS);
+                List<EventTitleView> events = eventRepository.findTitleViewsByStateAndEventDateAfter(
+                        EventState.PUBLISHED, LocalDateTime.now());
+                for (int from = 0; from < events.size(); from += viewsBatchSize) {
+                    List<EventTitleView> batch = events.subList(from, Math.min(from + viewsBatchSize, events.size()));
+                    Map<Long, Long> views = statsService.getViews(batch);
+                    batch.forEach(event -> rebuilt.put(event.getId(), event.getTitle(), event.getEventDate(),
+                            views.getOrDefault(event.getId(), 0L)));
+                }
+
+                synchronized (writeLock) {
+                    changedDuringRebuild.forEach((eventId, event) -> apply(rebuilt, eventId, event));
+                    index = rebuilt;
+                }
+
+                log.info("The title index of {} events was built in {} ms", rebuilt.size(),
+                        (System.nanoTime() - startedAt) / 1_000_000);
+            } catch (RuntimeException exception) {
+                log.warn("The title index was not rebuilt: {}", exception.getMessage());
+            } finally {
+                synchronized (writeLock) {
+                    changedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEventChanged(EventChangedEvent changedEvent) {
+        EventTitleView event = eventRepository.findTitleViewByIdAndState(changedEvent.getEventId(),
+                EventState.PUBLISHED).orElse(null);
+
+        synchronized (writeLock) {
+            apply(index, changedEvent.getEventId(), event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(changedEvent.getEventId(), event);
+            }
+        }
+    }
+
+    private void apply(EventTitleIndex target, Long eventId, EventTitleView event) {
+        if (event == null) {
+            target.remove(eventId);
+            return;
+        }
+        // Просмотры обновляются только при перестроении, до тех пор сохраняются известные
+        EventTitleIndex.Entry known = target.get(eventId);
+        if (known == null) {
+            known = index.get(eventId);
+        }
+        target.put(eventId, event.getTitle(), event.getEventDate(), known == null ? 0L : known.getViews());
+    }
+}
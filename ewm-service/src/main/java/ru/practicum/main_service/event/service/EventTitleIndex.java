@@ -0,0 +1,339 @@
+package ru.practicum.main_service.event.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Prefix index of event titles: a trie over the words of the titles in which every node keeps the best titles
+ * of its subtree, by views and then by the nearest event date. A prefix is answered from the node it leads to,
+ * so the work does not depend on how many titles match.
+ * <p>
+ * Writes are serialized, reads never lock: node arrays are replaced on change, never modified in place.
+ */
+final class EventTitleIndex {
+    private static final int MAX_WORD_LENGTH = 20;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong(Entry::getViews).reversed()
+            .thenComparing(Entry::getEventDate)
+            .thenComparing(Entry::getId);
+
+    private final int topSize;
+    private final Node root = new Node('\u0000');
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    EventTitleIndex(int topSize) {
+        this.topSize = topSize;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    Entry get(Long id) {
+        return entries.get(id);
+    }
+
+    synchronized void put(Long id, String title, LocalDateTime eventDate, long views) {
+        remove(id);
+
+        String normalizedTitle = normalize(title);
+        Entry entry = new Entry(id, title, normalizedTitle, eventDate, views, words(normalizedTitle));
+        for (String word : entry.getWords()) {
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.getOrAddChild(word.charAt(i));
+                node.size++;
+                node.offer(entry, topSize);
+            }
+            node.addExact(entry);
+        }
+        entries.put(id, entry);
+    }
+
+    synchronized void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+
+        Map<Node, Integer> depths = new IdentityHashMap<>();
+        for (String word : entry.getWords()) {
+            Node parent = root;
+            for (int i = 0; i < word.length(); i++) {
+                Node node = parent.getChild(word.charAt(i));
+                if (--node.size == 0) {
+                    parent.removeChild(node);
+                    break;
+                }
+                if (i == word.length() - 1) {
+                    node.removeExact(entry);
+                }
+                depths.put(node, i);
+                parent = node;
+            }
+        }
+
+        // Лучшие названия узла собираются из лучших названий детей, поэтому сначала пересчитываются глубокие узлы
+        depths.entrySet().stream()
+                .sorted(Map.Entry.<Node, Integer>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .filter(node -> node.topContains(entry))
+                .forEach(node -> node.recomputeTop(topSize));
+    }
+
+    /**
+     * Returns the best titles containing the phrase from the start of one of their words.
+     * The phrase is looked up by its rarest word, and only if the best titles of that word are not enough
+     * is its subtree scanned.
+     */
+    List<Entry> search(String prefix, int size, LocalDateTime now) {
+        String phrase = normalize(prefix);
+        List<String> tokens = words(phrase);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        // Разделители перед первым словом не участвуют в сравнении с названием
+        String trimmedPhrase = phrase.substring(phrase.indexOf(tokens.get(0)));
+
+        Node rarest = null;
+        for (String token : tokens) {
+            Node node = find(token);
+            if (node == null) {
+                return List.of();
+            }
+            if (rarest == null || node.size < rarest.size) {
+                rarest = node;
+            }
+        }
+
+        List<Entry> found = new ArrayList<>(size);
+        Entry[] top = rarest.top;
+        for (Entry entry : top) {
+            if (entry.matches(trimmedPhrase, now)) {
+                found.add(entry);
+                if (found.size() == size) {
+                    return found;
+                }
+            }
+        }
+        if (top.length < topSize) {
+            return found;
+        }
+
+        return scan(rarest, trimmedPhrase, size, now);
+    }
+
+    private List<Entry> scan(Node from, String phrase, int size, LocalDateTime now) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(size + 1, RANKING.reversed());
+        Set<Long> seen = new HashSet<>();
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(from);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            for (Node child : node.children) {
+                nodes.push(child);
+            }
+            Set<Entry> exact = node.exact;
+            if (exact == null) {
+                continue;
+            }
+            for (Entry entry : exact) {
+                if (seen.add(entry.getId()) && entry.matches(phrase, now)) {
+                    best.add(entry);
+                    if (best.size() > size) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+
+        List<Entry> found = new ArrayList<>(best);
+        found.sort(RANKING);
+        return found;
+    }
+
+    private Node find(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            node = node.getChild(word.charAt(i));
+        }
+        return node;
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(text.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private static List<String> words(String normalizedText) {
+        return Arrays.stream(WORD_SEPARATOR.split(normalizedText))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static final class Entry {
+        private final Long id;
+        private final String title;
+        private final String normalizedTitle;
+        private final LocalDateTime eventDate;
+        private final long views;
+        private final List<String> words;
+
+        /**
+         * The phrase has to start at a word of the title, so "jazz ev" matches "Jazz evening" but not "Nojazz ev".
+         */
+        boolean matches(String phrase, LocalDateTime now) {
+            if (!eventDate.isAfter(now)) {
+                return false;
+            }
+            int from = normalizedTitle.indexOf(phrase);
+            while (from >= 0) {
+                if (from == 0 || !Character.isLetterOrDigit(normalizedTitle.charAt(from - 1))) {
+                    return true;
+                }
+                from = normalizedTitle.indexOf(phrase, from + 1);
+            }
+            return false;
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private final char letter;
+        private volatile Node[] children = NO_CHILDREN;
+        private volatile Entry[] top = NO_ENTRIES;
+        private volatile Set<Entry> exact;
+        // Число вхождений слов в поддереве, меняется только под блокировкой индекса
+        private volatile int size;
+
+        private Node(char letter) {
+            this.letter = letter;
+        }
+
+        private Node getChild(char letter) {
+            Node[] nodes = children;
+            int index = indexOf(nodes, letter);
+            return index >= 0 ? nodes[index] : null;
+        }
+
+        private Node getOrAddChild(char letter) {
+            Node[] nodes = children;
+            int index = indexOf(nodes, letter);
+            if (index >= 0) {
+                return nodes[index];
+            }
+
+            int insertAt = -index - 1;
+            Node child = new Node(letter);
+            Node[] updated = new Node[nodes.length + 1];
+            System.arraycopy(nodes, 0, updated, 0, insertAt);
+            updated[insertAt] = child;
+            System.arraycopy(nodes, insertAt, updated, insertAt + 1, nodes.length - insertAt);
+            children = updated;
+            return child;
+        }
+
+        private void removeChild(Node child) {
+            Node[] nodes = children;
+            int index = indexOf(nodes, child.letter);
+            Node[] updated = new Node[nodes.length - 1];
+            System.arraycopy(nodes, 0, updated, 0, index);
+            System.arraycopy(nodes, index + 1, updated, index, nodes.length - index - 1);
+            children = updated;
+        }
+
+        private void addExact(Entry entry) {
+            if (exact == null) {
+                exact = ConcurrentHashMap.newKeySet();
+            }
+            exact.add(entry);
+        }
+
+        private void removeExact(Entry entry) {
+            if (exact != null) {
+                exact.remove(entry);
+            }
+        }
+
+        private boolean topContains(Entry entry) {
+            for (Entry candidate : top) {
+                if (candidate == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void offer(Entry entry, int topSize) {
+            Entry[] entries = top;
+            if (topContains(entry)) {
+                return;
+            }
+            int insertAt = -Arrays.binarySearch(entries, entry, RANKING) - 1;
+            if (insertAt >= topSize) {
+                return;
+            }
+
+            Entry[] updated = new Entry[Math.min(entries.length + 1, topSize)];
+            System.arraycopy(entries, 0, updated, 0, insertAt);
+            updated[insertAt] = entry;
+            System.arraycopy(entries, insertAt, updated, insertAt + 1, updated.length - insertAt - 1);
+            top = updated;
+        }
+
+        private void recomputeTop(int topSize) {
+            Set<Entry> candidates = new HashSet<>();
+            if (exact != null) {
+                candidates.addAll(exact);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            top = candidates.stream()
+                    .sorted(RANKING)
+                    .limit(topSize)
+                    .toArray(Entry[]::new);
+        }
+
+        private static int indexOf(Node[] nodes, char letter) {
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = nodes[middle].letter;
+                if (current < letter) {
+                    low = middle + 1;
+                } else if (current > letter) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
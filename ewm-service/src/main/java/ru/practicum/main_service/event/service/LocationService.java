@@ -0,0 +1,8 @@
+package ru.practicum.main_service.event.service;
+
+import ru.practicum.main_service.event.dto.LocationDto;
+import ru.practicum.main_service.event.model.Location;
+
+public interface LocationService {
+    Location getOrSave(LocationDto locationDto);
+}
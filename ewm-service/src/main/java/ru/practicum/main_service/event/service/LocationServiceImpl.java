@@ -0,0 +1,88 @@
+package ru.practicum.main_service.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.main_service.event.dto.LocationDto;
+import ru.practicum.main_service.event.geo.GeoHash;
+import ru.practicum.main_service.event.model.Location;
+import ru.practicum.main_service.event.repository.LocationRepository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps one row per location. Coordinates are rounded to four decimal places (about 11 m), so nearby points of the
+ * same place map to the same row, and the ids of recently used locations are kept in a small LRU cache.
+ * The step is coarser than the spacing of REAL values up to 180 degrees (about 1.5e-5); with a finer step
+ * the rounded value would fall back to the input float and nearly identical coordinates would stay apart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocationServiceImpl implements LocationService {
+    private static final double COORDINATE_SCALE = 10_000d;
+
+    private final LocationRepository locationRepository;
+
+    @Value("${ewm.locations.cache-size:1000}")
+    private int cacheSize;
+
+    private final Map<Long, Long> recentIds = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+
+    @Override
+    @Transactional
+    public Location getOrSave(LocationDto locationDto) {
+        float lat = normalize(locationDto.getLat());
+        float lon = normalize(locationDto.getLon());
+        long key = (long) Float.floatToIntBits(lat) << 32 | Float.floatToIntBits(lon) & 0xffffffffL;
+
+        String geohash = GeoHash.encode(lat, lon);
+
+        Long id = recentIds.get(key);
+        if (id != null) {
+            log.debug("Location ({}, {}) is served from the cache", lat, lon);
+        } else {
+            id = locationRepository.findIdByCoordinates(lat, lon).orElse(null);
+            if (id != null) {
+                recentIds.put(key, id);
+            } else {
+                id = locationRepository.upsert(lat, lon, geohash);
+                cacheAfterCommit(key, id);
+            }
+        }
+
+        // Locations are never changed, so a detached instance is enough to reference the row from an event
+        return new Location(id, lat, lon, geohash);
+    }
+
+    /**
+     * A row inserted here disappears if the caller's transaction rolls back, so its id is only cached after commit.
+     */
+    private void cacheAfterCommit(long key, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentIds.put(key, id);
+            }
+        });
+    }
+
+    private static float normalize(Float coordinate) {
+        return (float) (Math.round(coordinate.doubleValue() * COORDINATE_SCALE) / COORDINATE_SCALE);
+    }
+}
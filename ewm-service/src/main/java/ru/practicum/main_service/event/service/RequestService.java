@@ -1,5 +1,6 @@
 package ru.practicum.main_service.event.service;
 
+import org.springframework.data.domain.Pageable;
 import ru.practicum.main_service.event.dto.EventRequestStatusUpdateRequest;
 import ru.practicum.main_service.event.dto.EventRequestStatusUpdateResult;
 import ru.practicum.main_service.event.dto.ParticipationRequestDto;
@@ -7,7 +8,7 @@ import ru.practicum.main_service.event.dto.ParticipationRequestDto;
 import java.util.List;
 
 public interface RequestService {
-    List<ParticipationRequestDto> getEventRequestsByRequester(Long userId);
+    List<ParticipationRequestDto> getEventRequestsByRequester(Long userId, Long beforeId, Pageable pageable);
 
     ParticipationRequestDto createEventRequest(Long userId, Long eventId);
 
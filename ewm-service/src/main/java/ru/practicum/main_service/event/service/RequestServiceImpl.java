@@ -1,7 +1,13 @@
 package ru.practicum.main_service.event.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.main_service.event.dto.EventRequestStatusUpdateRequest;
@@ -17,43 +23,66 @@ import ru.practicum.main_service.event.repository.RequestRepository;
 import ru.practicum.main_service.exception.ForbiddenException;
 import ru.practicum.main_service.exception.NotFoundException;
 import ru.practicum.main_service.user.model.User;
-import ru.practicum.main_service.user.service.UserService;
+import ru.practicum.main_service.validation.ExistenceValidator;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "ewm.requests.service", histogram = true)
 @Slf4j
 public class RequestServiceImpl implements RequestService {
-    private final UserService userService;
+    private static final String CREATED_COUNTER = "ewm.requests.created";
+    private static final String MODERATED_COUNTER = "ewm.requests.moderated";
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "created", "id");
+    private static final String REPEAT_REQUEST_CONSTRAINT = "requests_event_requester_uq";
+
+    private final ExistenceValidator existenceValidator;
     private final EventService eventService;
     private final StatsService statsService;
     private final RequestRepository requestRepository;
     private final RequestMapper requestMapper;
+    private final MeterRegistry meterRegistry;
 
     @Override
-    public List<ParticipationRequestDto> getEventRequestsByRequester(Long userId) {
-        log.info("Displaying a list of requests for participation in other people's " +
-                "events by a user with an id {}", userId);
-
-        userService.getUserById(userId);
+    public List<ParticipationRequestDto> getEventRequestsByRequester(Long userId, Long beforeId, Pageable pageable) {
+        log.debug("Displaying a list of requests for participation in other people's " +
+                "events by a user with an id {} before request {} and pagination {}", userId, beforeId, pageable);
+
+        existenceValidator.checkUserExists(userId);
+
+        // Newest first; with beforeId the page starts right after that request and the offset is not used
+        List<Request> requests;
+        if (beforeId == null) {
+            requests = pageable.isPaged()
+                    ? requestRepository.findAllByRequesterId(userId,
+                            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST))
+                    : requestRepository.findAllByRequesterId(userId, NEWEST_FIRST);
+        } else {
+            // An unknown cursor would silently yield an empty page
+            if (!requestRepository.existsByIdAndRequesterId(beforeId, userId)) {
+                throw new NotFoundException("There is no application for participation with such an id.");
+            }
+            requests = requestRepository.findAllByRequesterIdBefore(userId, beforeId,
+                    pageable.isPaged() ? PageRequest.ofSize(pageable.getPageSize()) : Pageable.unpaged());
+        }
 
-        return toParticipationRequestsDto(requestRepository.findAllByRequesterId(userId));
+        return toParticipationRequestsDto(requests);
     }
 
     @Override
     @Transactional
     public ParticipationRequestDto createEventRequest(Long userId, Long eventId) {
-        log.info("Creating a request to participate in an event with id {} by a user with id {}", eventId, userId);
+        log.debug("Creating a request to participate in an event with id {} by a user with id {}", eventId, userId);
 
-        User user = userService.getUserById(userId);
+        User user = existenceValidator.getUserReference(userId);
         Event event = eventService.getEventById(eventId);
 
         if (Objects.equals(event.getInitiator().getId(), userId)) {
@@ -64,12 +93,6 @@ public class RequestServiceImpl implements RequestService {
             throw new ForbiddenException("You cannot create a request for an unpublished event.");
         }
 
-        Optional<Request> oldRequest = requestRepository.findByEventIdAndRequesterId(eventId, userId);
-
-        if (oldRequest.isPresent()) {
-            throw new ForbiddenException("It is forbidden to create a repeat request.");
-        }
-
         checkIsNewLimitGreaterOld(
                 statsService.getConfirmedRequests(Set.of(event)).getOrDefault(eventId, 0L) + 1,
                 event.getParticipantLimit()
@@ -87,17 +110,29 @@ public class RequestServiceImpl implements RequestService {
             newRequest.setStatus(RequestStatus.PENDING);
         }
 
-        return requestMapper.toParticipationRequestDto(requestRepository.save(newRequest));
+        Request savedRequest;
+        try {
+            // The unique constraint detects a repeat request in the insert itself, also for concurrent double clicks
+            savedRequest = requestRepository.saveAndFlush(newRequest);
+        } catch (DataIntegrityViolationException exception) {
+            if (isRepeatRequest(exception)) {
+                throw new ForbiddenException("It is forbidden to create a repeat request.");
+            }
+            throw exception;
+        }
+
+        ParticipationRequestDto participationRequestDto = requestMapper.toParticipationRequestDto(savedRequest);
+        countRequests(CREATED_COUNTER, newRequest.getStatus(), 1);
+
+        return participationRequestDto;
     }
 
     @Override
     @Transactional
     public ParticipationRequestDto cancelEventRequest(Long userId, Long requestId) {
-        log.info("Cancellation of a request with id {} to participate in an event by " +
+        log.debug("Cancellation of a request with id {} to participate in an event by " +
                 "a user with id {}", requestId, userId);
 
-        userService.getUserById(userId);
-
         Request request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("There is no application for participation with such an id."));
 
@@ -110,10 +145,9 @@ public class RequestServiceImpl implements RequestService {
 
     @Override
     public List<ParticipationRequestDto> getEventRequestsByEventOwner(Long userId, Long eventId) {
-        log.info("Displaying a list of requests to participate in an event with id {} " +
+        log.debug("Displaying a list of requests to participate in an event with id {} " +
                 "owner with id {}", eventId, userId);
 
-        userService.getUserById(userId);
         Event event = eventService.getEventById(eventId);
 
         checkUserIsOwner(event.getInitiator().getId(), userId);
@@ -125,10 +159,9 @@ public class RequestServiceImpl implements RequestService {
     @Transactional
     public EventRequestStatusUpdateResult patchEventRequestsByEventOwner(
             Long userId, Long eventId, EventRequestStatusUpdateRequest eventRequestStatusUpdateRequest) {
-        log.info("Updating requests to participate in an event with id {} owner with id {} and parameters {}",
+        log.debug("Updating requests to participate in an event with id {} owner with id {} and parameters {}",
                 eventId, userId, eventRequestStatusUpdateRequest);
 
-        userService.getUserById(userId);
         Event event = eventService.getEventById(eventId);
 
         checkUserIsOwner(event.getInitiator().getId(), userId);
@@ -172,6 +205,9 @@ public class RequestServiceImpl implements RequestService {
             }
         }
 
+        countRequests(MODERATED_COUNTER, RequestStatus.CONFIRMED, confirmedList.size());
+        countRequests(MODERATED_COUNTER, RequestStatus.REJECTED, rejectedList.size());
+
         return new EventRequestStatusUpdateResult(toParticipationRequestsDto(confirmedList),
                 toParticipationRequestsDto(rejectedList));
     }
@@ -187,6 +223,29 @@ public class RequestServiceImpl implements RequestService {
         return requestRepository.saveAll(requests);
     }
 
+    /**
+     * Batched inserts do not report the constraint name, so the driver exceptions are searched for it,
+     * including the ones chained to a BatchUpdateException.
+     */
+    private boolean isRepeatRequest(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                for (SQLException sqlException = (SQLException) cause; sqlException != null;
+                     sqlException = sqlException.getNextException()) {
+                    String message = sqlException.getMessage();
+                    if (message != null && message.toLowerCase().contains(REPEAT_REQUEST_CONSTRAINT)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void countRequests(String name, RequestStatus status, int count) {
+        meterRegistry.counter(name, "status", status.name()).increment(count);
+    }
+
     private void checkIsNewLimitGreaterOld(Long newLimit, Integer eventParticipantLimit) {
         if (eventParticipantLimit != 0 && (newLimit > eventParticipantLimit)) {
             throw new ForbiddenException(String.format("The limit of confirmed participation requests " +
@@ -197,6 +256,7 @@ public class RequestServiceImpl implements RequestService {
 
     private void checkUserIsOwner(Long id, Long userId) {
         if (!Objects.equals(id, userId)) {
+            existenceValidator.checkUserExists(userId);
             throw new ForbiddenException("The user is not the owner.");
         }
     }
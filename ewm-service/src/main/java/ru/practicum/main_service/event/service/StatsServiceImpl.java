@@ -1,28 +1,29 @@
 package ru.practicum.main_service.event.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
 import ru.practicum.main_service.MainCommonUtils;
-import ru.practicum.main_service.event.model.Event;
+import ru.practicum.main_service.event.model.ViewableEvent;
 import ru.practicum.main_service.event.repository.RequestRepository;
+import ru.practicum.stats_client.ReactiveStatsClient;
 import ru.practicum.stats_client.StatsClient;
+import ru.practicum.stats_client.StatsServerUnavailableException;
 import ru.practicum.stats_common.model.ViewStats;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,77 +31,91 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @Slf4j
 public class StatsServiceImpl implements StatsService {
+    private static final int MAX_CACHED_VIEWS = 10_000;
+
     private final StatsClient statsClient;
+    private final ReactiveStatsClient reactiveStatsClient;
     private final RequestRepository requestRepository;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<Long, Long> lastKnownViews = new ConcurrentHashMap<>();
 
     @Value(value = "${app.name}")
     private String appName;
 
     @Override
     public void addHit(HttpServletRequest request) {
-        log.info("A request has been sent to register a request to the statistics " +
-                "server with the request parameters = {}", request);
+        log.debug("A request has been sent to register a request to the statistics server for uri = {}",
+                request.getRequestURI());
 
-        statsClient.addHit(appName, request.getRequestURI(), request.getRemoteAddr(),
-                LocalDateTime.parse(LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER), MainCommonUtils.DT_FORMATTER));
+        try {
+            statsClient.addHit(appName, request.getRequestURI(), request.getRemoteAddr(),
+                    LocalDateTime.parse(LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER), MainCommonUtils.DT_FORMATTER));
+        } catch (StatsServerUnavailableException exception) {
+            log.warn("The hit to {} was not registered: {}", request.getRequestURI(), exception.getMessage());
+        }
     }
 
     @Override
     public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-        log.info("Sent a request to get statistics to the statistics server with parameters " +
+        log.debug("Sent a request to get statistics to the statistics server with parameters " +
                 "start = {}, end = {}, uris = {}, unique = {}", start, end, uris, unique);
 
-        ResponseEntity<Object> response = statsClient.getStats(start, end, uris, unique);
-
         try {
-            return Arrays.asList(mapper.readValue(mapper.writeValueAsString(response.getBody()), ViewStats[].class));
-        } catch (IOException exception) {
-            throw new ClassCastException(exception.getMessage());
+            return statsClient.getStats(start, end, uris, unique);
+        } catch (StatsServerUnavailableException exception) {
+            log.warn("Statistics are unavailable, views are reported as zero: {}", exception.getMessage());
+            return List.of();
         }
     }
 
     @Override
-    public Map<Long, Long> getViews(Set<Event> events) {
-        log.info("A request was sent to get statistics of non-unique visits in the form of Map<eventId, count> " +
-                "for a list of events.");
-
-        Map<Long, Long> views = new HashMap<>();
+    public Map<Long, Long> getViews(Collection<? extends ViewableEvent> events) {
+        return getViewsAsync(events).join();
+    }
 
-        Set<Event> publishedEvents = getPublished(events);
+    @Override
+    public CompletableFuture<Map<Long, Long>> getViewsAsync(Collection<? extends ViewableEvent> events) {
+        log.debug("A request was sent to get statistics of non-unique visits in the form of Map<eventId, count> " +
+                "for a list of events.");
 
-        if (events.isEmpty()) {
-            return views;
-        }
+        List<ViewableEvent> publishedEvents = getPublished(events);
 
         Optional<LocalDateTime> minPublishedOn = publishedEvents.stream()
-                .map(Event::getPublishedOn)
+                .map(ViewableEvent::getPublishedOn)
                 .filter(Objects::nonNull)
                 .min(LocalDateTime::compareTo);
 
-        if (minPublishedOn.isPresent()) {
-            LocalDateTime start = minPublishedOn.get();
-            LocalDateTime end = LocalDateTime.now();
-            List<String> uris = publishedEvents.stream()
-                    .map(Event::getId)
-                    .map(id -> ("/events/" + id))
-                    .collect(Collectors.toList());
-
-            List<ViewStats> stats = getStats(start, end, uris, null);
-            stats.forEach(stat -> {
-                Long eventId = Long.parseLong(stat.getUri()
-                        .split("/", 0)[2]);
-                views.put(eventId, views.getOrDefault(eventId, 0L) + stat.getHits());
-            });
+        if (minPublishedOn.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
         }
 
-        return views;
+        LocalDateTime start = minPublishedOn.get();
+        LocalDateTime end = LocalDateTime.now();
+        List<Long> eventsId = publishedEvents.stream()
+                .map(ViewableEvent::getId)
+                .collect(Collectors.toList());
+
+        return reactiveStatsClient.getEventHits(start, end, eventsId, null)
+                .map(hits -> {
+                    Map<Long, Long> views = new HashMap<>(hits);
+                    cacheViews(views);
+                    return views;
+                })
+                .onErrorResume(StatsServerUnavailableException.class, exception -> {
+                    log.warn("Statistics are unavailable, the last known views are reported: {}",
+                            exception.getMessage());
+                    Map<Long, Long> views = new HashMap<>();
+                    eventsId.stream()
+                            .filter(lastKnownViews::containsKey)
+                            .forEach(id -> views.put(id, lastKnownViews.get(id)));
+                    return Mono.just(views);
+                })
+                .toFuture();
     }
 
     @Override
-    public Map<Long, Long> getConfirmedRequests(Set<Event> events) {
+    public Map<Long, Long> getConfirmedRequests(Collection<? extends ViewableEvent> events) {
         List<Long> eventsId = getPublished(events).stream()
-                .map(Event::getId)
+                .map(ViewableEvent::getId)
                 .collect(Collectors.toList());
 
         Map<Long, Long> requestStats = new HashMap<>();
@@ -113,10 +128,17 @@ public class StatsServiceImpl implements StatsService {
         return requestStats;
     }
 
-    private Set<Event> getPublished(Set<Event> events) {
+    private void cacheViews(Map<Long, Long> views) {
+        if (lastKnownViews.size() + views.size() > MAX_CACHED_VIEWS) {
+            lastKnownViews.clear();
+        }
+        lastKnownViews.putAll(views);
+    }
+
+    private List<ViewableEvent> getPublished(Collection<? extends ViewableEvent> events) {
         return events.stream()
                 .filter(event -> event.getPublishedOn() != null)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toList());
     }
 
     //    private boolean isUniqueView(Long eventId, String ipAddress) {
@@ -1,6 +1,6 @@
 package ru.practicum.main_service.exception;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends StacklessException {
     public BadRequestException(String message) {
         super(message);
     }
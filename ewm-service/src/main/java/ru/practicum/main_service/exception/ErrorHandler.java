@@ -3,10 +3,11 @@ package ru.practicum.main_service.exception;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.validation.BindException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -17,12 +18,41 @@ import ru.practicum.main_service.MainCommonUtils;
 import javax.validation.ConstraintViolationException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Objects;
 
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
+    private static final ApiErrorTemplate BAD_REQUEST =
+            new ApiErrorTemplate(HttpStatus.BAD_REQUEST, "Incorrectly made request.");
+    private static final ApiErrorTemplate NOT_FOUND =
+            new ApiErrorTemplate(HttpStatus.NOT_FOUND, "The required object was not found.");
+    private static final ApiErrorTemplate EMPTY_RESULT =
+            new ApiErrorTemplate(HttpStatus.NOT_FOUND, "The Object id Empty.");
+    private static final ApiErrorTemplate INTEGRITY_VIOLATION =
+            new ApiErrorTemplate(HttpStatus.CONFLICT, "Integrity constraint has been violated.");
+    private static final ApiErrorTemplate FORBIDDEN =
+            new ApiErrorTemplate(HttpStatus.CONFLICT, "For the requested operation the conditions are not met.");
+    private static final ApiErrorTemplate INTERNAL_ERROR =
+            new ApiErrorTemplate(HttpStatus.INTERNAL_SERVER_ERROR, "Unhandled exception.");
+
+    /**
+     * When the stack trace is written into {@code ApiError.errors}, like Boot's server.error.include-stacktrace.
+     */
+    public enum IncludeStackTrace {
+        NEVER,
+        ON_SERVER_ERROR,
+        ALWAYS
+    }
+
+    @Value("${ewm.errors.include-stacktrace:on-server-error}")
+    private IncludeStackTrace includeStackTrace;
+
+    private volatile CachedTimestamp timestamp = new CachedTimestamp(0, "");
+
     @Getter
     @AllArgsConstructor
     private static class ApiError {
@@ -33,83 +63,87 @@ public class ErrorHandler {
         private final String timestamp;
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @AllArgsConstructor
+    private static class ApiErrorTemplate {
+        private final HttpStatus status;
+        private final String reason;
+    }
+
+    @AllArgsConstructor
+    private static class CachedTimestamp {
+        private final long epochSecond;
+        private final String formatted;
+    }
+
+    @ExceptionHandler(BindException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ApiError handleValidationException(final MethodArgumentNotValidException exception) {
-        log.error(exception.toString());
-        return new ApiError(HttpStatus.BAD_REQUEST.name(),
-                "Incorrectly made request.",
+    public ApiError handleValidationException(final BindException exception) {
+        return toApiError(BAD_REQUEST,
                 String.format("Field: %s. Error: %s", Objects.requireNonNull(exception.getFieldError()).getField(),
                         exception.getFieldError().getDefaultMessage()),
-                getErrors(exception),
-                LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER));
+                exception);
     }
 
     @ExceptionHandler({MethodArgumentTypeMismatchException.class, ConstraintViolationException.class,
             MissingServletRequestParameterException.class, BadRequestException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiError handleValidationException(final RuntimeException exception) {
-        log.error(exception.toString());
-        return new ApiError(HttpStatus.BAD_REQUEST.name(),
-                "Incorrectly made request.",
-                exception.getMessage(),
-                getErrors(exception),
-                LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER));
+        return toApiError(BAD_REQUEST, exception.getMessage(), exception);
     }
 
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiError handleNotFoundException(final NotFoundException exception) {
-        log.error(exception.toString());
-        return new ApiError(HttpStatus.NOT_FOUND.name(),
-                "The required object was not found.",
-                exception.getMessage(),
-                getErrors(exception),
-                LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER));
+        return toApiError(NOT_FOUND, exception.getMessage(), exception);
     }
 
     @ExceptionHandler(EmptyResultDataAccessException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiError handleEmptyResultDataAccessException(final EmptyResultDataAccessException exception) {
-        log.error(exception.toString());
-        return new ApiError(HttpStatus.NOT_FOUND.name(),
-                "The Object id Empty.",
-                exception.getMessage(),
-                getErrors(exception),
-                LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER));
+        return toApiError(EMPTY_RESULT, exception.getMessage(), exception);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ApiError handleDataIntegrityViolationException(final DataIntegrityViolationException exception) {
-        log.error(exception.toString());
-        return new ApiError(HttpStatus.CONFLICT.name(),
-                "Integrity constraint has been violated.",
-                exception.getMessage(),
-                getErrors(exception),
-                LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER));
+        return toApiError(INTEGRITY_VIOLATION, exception.getMessage(), exception);
     }
 
     @ExceptionHandler(ForbiddenException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ApiError handleForbiddenException(final ForbiddenException exception) {
-        log.error(exception.toString());
-        return new ApiError(HttpStatus.CONFLICT.name(),
-                "For the requested operation the conditions are not met.",
-                exception.getMessage(),
-                getErrors(exception),
-                LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER));
+        return toApiError(FORBIDDEN, exception.getMessage(), exception);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiError handleException(final Exception exception) {
-        log.error("Error 400: {}", exception.getMessage(), exception);
-        return new ApiError(HttpStatus.INTERNAL_SERVER_ERROR.name(),
-                "Unhandled exception.",
-                exception.getMessage(),
-                getErrors(exception),
-                LocalDateTime.now().format(MainCommonUtils.DT_FORMATTER));
+        log.error("Error 500: {}", exception.getMessage(), exception);
+        return toApiError(INTERNAL_ERROR, exception.getMessage(), exception);
+    }
+
+    private ApiError toApiError(ApiErrorTemplate template, String message, Exception exception) {
+        boolean serverError = template.status.is5xxServerError();
+        if (!serverError) {
+            log.debug("Error {}: {}", template.status.value(), message);
+        }
+
+        return new ApiError(template.status.name(),
+                template.reason,
+                message,
+                isStackTraceIncluded(serverError) ? getErrors(exception) : null,
+                currentTimestamp());
+    }
+
+    private boolean isStackTraceIncluded(boolean serverError) {
+        switch (includeStackTrace) {
+            case ALWAYS:
+                return true;
+            case ON_SERVER_ERROR:
+                return serverError;
+            default:
+                return false;
+        }
     }
 
     private String getErrors(Exception exception) {
@@ -118,4 +152,18 @@ public class ErrorHandler {
         exception.printStackTrace(printWriter);
         return stringWriter.toString();
     }
+
+    /**
+     * The timestamp has a one second resolution, so it is formatted once per second at most.
+     */
+    private String currentTimestamp() {
+        long epochSecond = Instant.now().getEpochSecond();
+        CachedTimestamp cached = timestamp;
+        if (cached.epochSecond != epochSecond) {
+            cached = new CachedTimestamp(epochSecond, LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond),
+                    ZoneId.systemDefault()).format(MainCommonUtils.DT_FORMATTER));
+            timestamp = cached;
+        }
+        return cached.formatted;
+    }
 }
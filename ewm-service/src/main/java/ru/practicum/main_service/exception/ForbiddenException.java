@@ -1,6 +1,6 @@
 package ru.practicum.main_service.exception;
 
-public class ForbiddenException extends RuntimeException {
+public class ForbiddenException extends StacklessException {
     public ForbiddenException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package ru.practicum.main_service.exception;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends StacklessException {
     public NotFoundException(String message) {
         super(message);
     }
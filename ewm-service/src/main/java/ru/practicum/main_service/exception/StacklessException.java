@@ -0,0 +1,11 @@
+package ru.practicum.main_service.exception;
+
+/**
+ * Base of the domain exceptions that are mapped to 4xx responses. They are part of the normal request flow
+ * (unknown ids, broken business rules), so neither a stack trace nor suppressed exceptions are recorded.
+ */
+public abstract class StacklessException extends RuntimeException {
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.main_service.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements of every request and logs the requests that exceed the statement budget
+ * or the duration threshold. Outside production the count is also returned in the X-Query-Count header.
+ */
+@Component
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    @Value("${ewm.query-budget.max-statements:20}")
+    private int maxStatements;
+
+    @Value("${ewm.query-budget.slow-request-threshold:500ms}")
+    private Duration slowRequestThreshold;
+
+    @Value("${ewm.query-budget.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.start();
+        long startNanos = System.nanoTime();
+        // The body is buffered so the header can still be added once the count is known.
+        ContentCachingResponseWrapper wrapper = headerEnabled ? new ContentCachingResponseWrapper(response) : null;
+
+        try {
+            chain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            QueryCounter.stop();
+            Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+            int statements = counter.getStatements();
+
+            if (statements > maxStatements || duration.compareTo(slowRequestThreshold) > 0) {
+                log.warn("{} {} executed {} SQL statements in {} ms (budget {} statements, {} ms)",
+                        request.getMethod(), request.getRequestURI(), statements, duration.toMillis(),
+                        maxStatements, slowRequestThreshold.toMillis());
+            }
+
+            if (wrapper != null) {
+                wrapper.setHeader(QUERY_COUNT_HEADER, String.valueOf(statements));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+}
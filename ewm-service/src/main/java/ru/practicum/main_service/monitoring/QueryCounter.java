@@ -0,0 +1,35 @@
+package ru.practicum.main_service.monitoring;
+
+/**
+ * Number of SQL statements prepared on behalf of the current HTTP request.
+ * The counter is bound to the request thread only, statements run on other threads are not counted.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private QueryCounter() {
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void increment() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+}
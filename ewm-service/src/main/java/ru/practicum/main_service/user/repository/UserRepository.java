@@ -1,11 +1,16 @@
 package ru.practicum.main_service.user.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.main_service.user.model.User;
 
 import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    Slice<User> findAllBy(Pageable pageable);
+
     List<User> findAllByIdIn(List<Long> ids, Pageable pageable);
+
+    long countByIdIn(List<Long> ids);
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ public interface UserService {
 
     List<UserDto> getUsers(List<Long> ids, Pageable pageable);
 
+    long count(List<Long> ids);
+
     void deleteById(Long id);
 
     User getUserById(Long id);
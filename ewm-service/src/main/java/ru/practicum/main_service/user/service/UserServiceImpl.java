@@ -26,17 +26,17 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDto create(NewUserRequest newUserRequest) {
-        log.info("Adding a User {}", newUserRequest);
+        log.debug("Adding a User {}", newUserRequest);
 
         return userMapper.toUserDto(userRepository.save(userMapper.toUser(newUserRequest)));
     }
 
     @Override
     public List<UserDto> getUsers(List<Long> ids, Pageable pageable) {
-        log.info("Withdrawal of Users with id {} and pagination {}", ids, pageable);
+        log.debug("Withdrawal of Users with id {} and pagination {}", ids, pageable);
 
         if (ids == null || ids.isEmpty()) {
-            return userRepository.findAll(pageable).stream()
+            return userRepository.findAllBy(pageable).stream()
                     .map(userMapper::toUserDto)
                     .collect(Collectors.toList());
         } else {
@@ -46,10 +46,19 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public long count(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return userRepository.count();
+        } else {
+            return userRepository.countByIdIn(ids);
+        }
+    }
+
     @Override
     @Transactional
     public void deleteById(Long id) {
-        log.info("Deleting a User with id {}", id);
+        log.debug("Deleting a User with id {}", id);
 
         userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User with id don't exist."));
@@ -59,7 +68,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User getUserById(Long id) {
-        log.info("Вывод пользователя с id {}", id);
+        log.debug("Вывод пользователя с id {}", id);
 
         return userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User with id don't exist."));
@@ -0,0 +1,69 @@
+package ru.practicum.main_service.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.main_service.event.repository.EventRepository;
+import ru.practicum.main_service.exception.NotFoundException;
+import ru.practicum.main_service.user.model.User;
+import ru.practicum.main_service.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * Existence checks for paths that only validate ids. They run a primary key lookup instead of loading
+ * the entity with its EAGER associations.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExistenceValidator {
+    static final String USER_NOT_FOUND = "User with id don't exist.";
+    static final String EVENT_NOT_FOUND = "There is no event with this id.";
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(USER_NOT_FOUND);
+        }
+    }
+
+    public void checkEventExists(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException(EVENT_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Checks both ids in one round-trip.
+     */
+    public void checkUserAndEventExist(Long userId, Long eventId) {
+        Object[] exist = (Object[]) entityManager.createNativeQuery("SELECT " +
+                        "EXISTS (SELECT 1 FROM users WHERE id = ?1), " +
+                        "EXISTS (SELECT 1 FROM events WHERE id = ?2)")
+                .setParameter(1, userId)
+                .setParameter(2, eventId)
+                .getSingleResult();
+
+        if (!Boolean.TRUE.equals(exist[0])) {
+            throw new NotFoundException(USER_NOT_FOUND);
+        }
+        if (!Boolean.TRUE.equals(exist[1])) {
+            throw new NotFoundException(EVENT_NOT_FOUND);
+        }
+    }
+
+    /**
+     * A reference to an existing user, for setting associations without selecting the user row.
+     */
+    public User getUserReference(Long userId) {
+        checkUserExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+}
@@ -1,28 +1,45 @@
 DROP TABLE IF EXISTS users, categories, locations, events, requests, compilations, compilations_events, comments;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS categories_seq;
+DROP SEQUENCE IF EXISTS locations_seq;
+DROP SEQUENCE IF EXISTS events_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS compilations_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS locations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS compilations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     email VARCHAR(255) NOT NULL UNIQUE,
     name VARCHAR(255) NOT NULL
     );
 
 CREATE TABLE IF NOT EXISTS categories
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL UNIQUE
     );
 
 CREATE TABLE IF NOT EXISTS locations
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     lat REAL NOT NULL,
-    lon REAL NOT NULL
+    lon REAL NOT NULL,
+    geohash VARCHAR(12) NOT NULL,
+    CONSTRAINT locations_lat_lon_uq UNIQUE (lat, lon)
 );
 
 CREATE TABLE IF NOT EXISTS events
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     annotation VARCHAR(2000) NOT NULL,
     created_on TIMESTAMP NOT NULL,
     description VARCHAR(7000) NOT NULL,
@@ -40,16 +57,17 @@ CREATE TABLE IF NOT EXISTS events
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     created TIMESTAMP NOT NULL,
     status VARCHAR(255) NOT NULL,
     event_id BIGINT REFERENCES events (id) ON DELETE CASCADE,
-    requester_id BIGINT REFERENCES users (id) ON DELETE CASCADE
+    requester_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT requests_event_requester_uq UNIQUE (event_id, requester_id)
     );
 
 CREATE TABLE IF NOT EXISTS compilations
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     pinned BOOLEAN NOT NULL,
     title VARCHAR(120) NOT NULL UNIQUE
     );
@@ -62,10 +80,15 @@ CREATE TABLE IF NOT EXISTS compilations_events
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     created_on TIMESTAMP NOT NULL,
     edited_on TIMESTAMP,
     text VARCHAR(7000) NOT NULL,
     author_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
     event_id BIGINT REFERENCES events (id) ON DELETE CASCADE
-    );
\ No newline at end of file
+    );
+
+CREATE INDEX IF NOT EXISTS locations_geohash_idx ON locations (geohash);
+CREATE INDEX IF NOT EXISTS requests_requester_created_idx ON requests (requester_id, created);
+
+CREATE INDEX IF NOT EXISTS comments_author_created_idx ON comments (author_id, created_on);
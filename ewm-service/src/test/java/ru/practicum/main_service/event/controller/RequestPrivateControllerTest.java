@@ -0,0 +1,213 @@
+package ru.practicum.main_service.event.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import reactor.core.publisher.Mono;
+import ru.practicum.main_service.MainCommonUtils;
+import ru.practicum.stats_client.ReactiveStatsClient;
+import ru.practicum.stats_client.StatsClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The requester's feed: the whole list without size, newest first, and keyset pages after a known request.
+ * Repeat requests are rejected by the unique constraint, also when they arrive at the same time.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("ci")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RequestPrivateControllerTest {
+    private static final int REQUESTS = 12;
+    private static final int THREADS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @MockBean
+    private ReactiveStatsClient reactiveStatsClient;
+
+    private final List<Long> requestIds = new ArrayList<>();
+    private long requesterId;
+    private long otherUserId;
+    private long initiatorId;
+    private long categoryId;
+    private String eventDate;
+
+    @BeforeEach
+    void stubStats() {
+        when(reactiveStatsClient.getEventHits(any(), any(), any(), any())).thenReturn(Mono.just(Map.of()));
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        stubStats();
+        eventDate = LocalDateTime.now().plusDays(7).format(MainCommonUtils.DT_FORMATTER);
+
+        initiatorId = create(post("/admin/users"),
+                Map.of("name", "Feed initiator", "email", "feed-initiator@example.com"));
+        requesterId = create(post("/admin/users"),
+                Map.of("name", "Feed requester", "email", "feed-requester@example.com"));
+        otherUserId = create(post("/admin/users"),
+                Map.of("name", "Feed other", "email", "feed-other@example.com"));
+        categoryId = create(post("/admin/categories"), Map.of("name", "Feed category"));
+
+        for (int i = 0; i < REQUESTS; i++) {
+            long eventId = createPublishedEvent("Feed event " + i);
+            requestIds.add(create(post("/users/{userId}/requests", requesterId)
+                    .param("eventId", String.valueOf(eventId)), Map.of()));
+        }
+    }
+
+    @Test
+    void returnsAllRequestsWithoutSize() throws Exception {
+        mockMvc.perform(get("/users/{userId}/requests", requesterId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(REQUESTS))
+                .andExpect(jsonPath("$[0].id").value(requestIds.get(REQUESTS - 1)));
+    }
+
+    @Test
+    void returnsPageWithSize() throws Exception {
+        mockMvc.perform(get("/users/{userId}/requests", requesterId)
+                        .param("from", "5")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].id").value(requestIds.get(REQUESTS - 6)));
+    }
+
+    @Test
+    void continuesAfterCursor() throws Exception {
+        mockMvc.perform(get("/users/{userId}/requests", requesterId)
+                        .param("beforeId", String.valueOf(requestIds.get(3)))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(requestIds.get(2)))
+                .andExpect(jsonPath("$[1].id").value(requestIds.get(1)));
+    }
+
+    @Test
+    void rejectsUnknownCursor() throws Exception {
+        mockMvc.perform(get("/users/{userId}/requests", requesterId)
+                        .param("beforeId", "999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsCursorOfAnotherUser() throws Exception {
+        mockMvc.perform(get("/users/{userId}/requests", otherUserId)
+                        .param("beforeId", String.valueOf(requestIds.get(3))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsUnknownCommentCursor() throws Exception {
+        mockMvc.perform(get("/users/{userId}/comments", requesterId)
+                        .param("beforeId", "999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsRepeatRequest() throws Exception {
+        long userId = create(post("/admin/users"),
+                Map.of("name", "Repeat requester", "email", "repeat-requester@example.com"));
+        long eventId = createPublishedEvent("Repeat event");
+
+        mockMvc.perform(post("/users/{userId}/requests", userId).param("eventId", String.valueOf(eventId)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/users/{userId}/requests", userId).param("eventId", String.valueOf(eventId)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void acceptsOneOfConcurrentRepeatRequests() throws Exception {
+        long userId = create(post("/admin/users"),
+                Map.of("name", "Concurrent requester", "email", "concurrent-requester@example.com"));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 5; round++) {
+                long eventId = createPublishedEvent("Concurrent event " + round);
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Future<Integer>> statuses = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    statuses.add(executor.submit(() -> {
+                        start.await();
+                        return mockMvc.perform(post("/users/{userId}/requests", userId)
+                                        .param("eventId", String.valueOf(eventId)))
+                                .andReturn().getResponse().getStatus();
+                    }));
+                }
+
+                List<Integer> sorted = new ArrayList<>();
+                for (Future<Integer> status : statuses) {
+                    sorted.add(status.get());
+                }
+                sorted.sort(null);
+                assertEquals(List.of(201, 409, 409, 409), sorted, "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long createPublishedEvent(String title) throws Exception {
+        long eventId = create(post("/users/{userId}/events", initiatorId), Map.of(
+                "annotation", "Annotation of the event " + title,
+                "description", "Description of the event " + title,
+                "category", categoryId,
+                "eventDate", eventDate,
+                "location", Map.of("lat", 59.93, "lon", 30.36),
+                "title", title));
+        send(patch("/admin/events/{eventId}", eventId), Map.of("stateAction", "PUBLISH_EVENT"));
+        return eventId;
+    }
+
+    private long create(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        JsonNode created = objectMapper.readTree(send(request, body));
+        return created.get("id").asLong();
+    }
+
+    private String send(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return mockMvc.perform(request
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
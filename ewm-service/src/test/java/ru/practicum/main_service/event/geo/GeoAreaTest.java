@@ -0,0 +1,129 @@
+package ru.practicum.main_service.event.geo;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.main_service.exception.BadRequestException;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoAreaTest {
+    private static final double DELTA = 1e-6;
+    private static final double MAX_TILE_LAT = 85.0511287798;
+
+    @Test
+    void ofWithoutParametersHasNoArea() {
+        assertNull(GeoArea.of(null, null, null, null, null, null, null));
+    }
+
+    @Test
+    void ofBuildsCircle() {
+        GeoArea area = GeoArea.of(55.75, 37.62, 10.0, null, null, null, null);
+
+        assertTrue(area.isCircle());
+        assertEquals(55.75, area.getCenterLat(), DELTA);
+        assertEquals(10 / GeoArea.KM_PER_DEGREE, area.getRadiusDegrees(), DELTA);
+        assertEquals(55.75 - area.getRadiusDegrees(), area.getMinLat(), DELTA);
+        assertEquals(area.getRadiusDegrees() / area.getLonScale(), area.getMaxLon() - 37.62, DELTA);
+    }
+
+    @Test
+    void ofBuildsBox() {
+        GeoArea area = GeoArea.of(null, null, null, 55.0, 37.0, 56.0, 38.0);
+
+        assertFalse(area.isCircle());
+        assertEquals(55.5, area.getCenterLat(), DELTA);
+        assertEquals(37.5, area.getCenterLon(), DELTA);
+    }
+
+    @Test
+    void ofRejectsIncompleteOrMixedParameters() {
+        assertThrows(BadRequestException.class, () -> GeoArea.of(55.75, 37.62, null, null, null, null, null));
+        assertThrows(BadRequestException.class, () -> GeoArea.of(null, null, null, 55.0, 37.0, 56.0, null));
+        assertThrows(BadRequestException.class, () -> GeoArea.of(55.75, 37.62, 10.0, 55.0, 37.0, 56.0, 38.0));
+        assertThrows(BadRequestException.class, () -> GeoArea.of(null, null, null, 56.0, 37.0, 55.0, 38.0));
+        assertThrows(BadRequestException.class, () -> GeoArea.of(null, null, null, 55.0, 38.0, 56.0, 37.0));
+    }
+
+    @Test
+    void circleRejectsCrossingAntimeridian() {
+        assertThrows(BadRequestException.class, () -> GeoArea.circle(64.73, 177.5, 200));
+        assertThrows(BadRequestException.class, () -> GeoArea.circle(-16.5, -179.9, 50));
+        assertThrows(BadRequestException.class, () -> GeoArea.circle(80, 170, 200));
+
+        GeoArea nearAntimeridian = GeoArea.circle(64.73, 177.5, 50);
+        assertTrue(nearAntimeridian.getMaxLon() < 180);
+    }
+
+    @Test
+    void circleClampsLatitudeAtPoles() {
+        GeoArea area = GeoArea.circle(-89.9, 0, 20);
+
+        assertEquals(-90, area.getMinLat(), DELTA);
+    }
+
+    @Test
+    void geoHashCellsCoverCircle() {
+        GeoArea area = GeoArea.circle(55.754167, 37.62, 5);
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            double lat = area.getMinLat() + random.nextDouble() * (area.getMaxLat() - area.getMinLat());
+            double lon = area.getMinLon() + random.nextDouble() * (area.getMaxLon() - area.getMinLon());
+            String hash = GeoHash.encode(lat, lon);
+            assertTrue(area.getGeoHashCells().stream().anyMatch(hash::startsWith), hash);
+        }
+    }
+
+    @Test
+    void tileAtZeroZoomIsWholeMap() {
+        GeoArea tile = GeoArea.tile(0, 0, 0);
+
+        assertEquals(-180, tile.getMinLon(), DELTA);
+        assertEquals(180, tile.getMaxLon(), DELTA);
+        assertEquals(-MAX_TILE_LAT, tile.getMinLat(), DELTA);
+        assertEquals(MAX_TILE_LAT, tile.getMaxLat(), DELTA);
+    }
+
+    @Test
+    void tileFollowsWebMapNumbering() {
+        GeoArea northEast = GeoArea.tile(1, 1, 0);
+        assertEquals(0, northEast.getMinLon(), DELTA);
+        assertEquals(180, northEast.getMaxLon(), DELTA);
+        assertEquals(0, northEast.getMinLat(), DELTA);
+        assertEquals(MAX_TILE_LAT, northEast.getMaxLat(), DELTA);
+
+        // Тайл z=10 с Красной площадью: x = 619, y = 320
+        GeoArea moscow = GeoArea.tile(10, 619, 320);
+        assertTrue(moscow.contains(55.754167, 37.62));
+        assertEquals(37.6171875, moscow.getMinLon(), DELTA);
+        assertEquals(37.96875, moscow.getMaxLon(), DELTA);
+    }
+
+    @Test
+    void tilesContainTheirPoints() {
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            int zoom = random.nextInt(GeoArea.MAX_ZOOM + 1);
+            int tiles = 1 << zoom;
+            double lat = random.nextDouble() * 2 * 85 - 85;
+            double lon = random.nextDouble() * 360 - 180;
+            int x = (int) Math.floor((lon + 180) / 360 * tiles);
+            double latRad = Math.toRadians(lat);
+            int y = (int) Math.floor((1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * tiles);
+
+            assertTrue(GeoArea.tile(zoom, x, y).contains(lat, lon),
+                    String.format("(%s, %s) is outside tile %d/%d/%d", lat, lon, zoom, x, y));
+        }
+    }
+
+    @Test
+    void tileRejectsCoordinatesOutsideMap() {
+        assertThrows(BadRequestException.class, () -> GeoArea.tile(1, 2, 0));
+        assertThrows(BadRequestException.class, () -> GeoArea.tile(1, 0, 2));
+        assertThrows(BadRequestException.class, () -> GeoArea.tile(3, -1, 0));
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.main_service.event.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoHashTest {
+    @Test
+    void encodesKnownVectors() {
+        assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("ucfv0j", GeoHash.encode(55.754167, 37.62, 6));
+        assertEquals("s00000000000", GeoHash.encode(0, 0));
+        assertEquals("7zzzz", GeoHash.encode(-0.000001, -0.000001, 5));
+        assertEquals("zzzzzzzzzzzz", GeoHash.encode(90, 180));
+        assertEquals("000000000000", GeoHash.encode(-90, -180));
+    }
+
+    @Test
+    void sharesPrefixWithCoarserPrecision() {
+        String hash = GeoHash.encode(55.754167, 37.62);
+        for (int precision = 1; precision < GeoHash.MAX_PRECISION; precision++) {
+            assertEquals(hash.substring(0, precision), GeoHash.encode(55.754167, 37.62, precision));
+        }
+    }
+
+    @Test
+    void upperBoundIsNextPrefix() {
+        assertEquals("u4ps", GeoHash.upperBound("u4pr"));
+        assertEquals("c", GeoHash.upperBound("bz"));
+        assertEquals("u5", GeoHash.upperBound("u4zz"));
+        assertNull(GeoHash.upperBound("zzz"));
+        assertNull(GeoHash.upperBound(""));
+    }
+
+    @Test
+    void upperBoundIsGreaterThanEveryHashWithPrefix() {
+        String prefix = "ucfv";
+        String upperBound = GeoHash.upperBound(prefix);
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            String hash = GeoHash.encode(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            boolean inRange = hash.compareTo(prefix) >= 0 && hash.compareTo(upperBound) < 0;
+            assertEquals(hash.startsWith(prefix), inRange, hash);
+        }
+    }
+
+    @Test
+    void coverUsesFinestPrecisionWithinCellLimit() {
+        List<String> cells = GeoHash.cover(55.70, 37.55, 55.80, 37.70);
+
+        assertTrue(cells.size() <= 16, cells.toString());
+        int precision = cells.get(0).length();
+        assertTrue(cells.stream().allMatch(cell -> cell.length() == precision), cells.toString());
+        assertEquals(5, precision);
+        assertEquals(cells.size(), cells.stream().distinct().count());
+    }
+
+    @Test
+    void coverOfPointIsItsCell() {
+        assertEquals(List.of(GeoHash.encode(55.754167, 37.62)), GeoHash.cover(55.754167, 37.62, 55.754167, 37.62));
+    }
+
+    @Test
+    void coverOfWholeMapIsEmpty() {
+        assertEquals(List.of(), GeoHash.cover(-90, -180, 90, 180));
+    }
+
+    @Test
+    void coverIncludesEveryPointInsideBox() {
+        Random random = new Random(42);
+        for (int box = 0; box < 500; box++) {
+            double height = Math.pow(10, -4 + random.nextDouble() * 5);
+            double width = Math.pow(10, -4 + random.nextDouble() * 5);
+            double minLat = -90 + random.nextDouble() * (180 - height);
+            double minLon = -180 + random.nextDouble() * (360 - width);
+            double maxLat = minLat + height;
+            double maxLon = minLon + width;
+            List<String> cells = GeoHash.cover(minLat, minLon, maxLat, maxLon);
+            if (cells.isEmpty()) {
+                continue;
+            }
+
+            for (int point = 0; point < 50; point++) {
+                double lat = minLat + random.nextDouble() * height;
+                double lon = minLon + random.nextDouble() * width;
+                assertCovered(cells, lat, lon);
+            }
+            assertCovered(cells, minLat, minLon);
+            assertCovered(cells, maxLat, maxLon);
+            assertCovered(cells, minLat, maxLon);
+            assertCovered(cells, maxLat, minLon);
+        }
+    }
+
+    @Test
+    void precisionForReturnsCoarsestNarrowEnoughCell() {
+        assertEquals(1, GeoHash.precisionFor(45));
+        assertEquals(2, GeoHash.precisionFor(44.9));
+        assertEquals(2, GeoHash.precisionFor(11.25));
+        assertEquals(3, GeoHash.precisionFor(11.2));
+        assertEquals(GeoHash.MAX_PRECISION, GeoHash.precisionFor(0));
+    }
+
+    private static void assertCovered(List<String> cells, double lat, double lon) {
+        String hash = GeoHash.encode(lat, lon);
+        assertTrue(cells.stream().anyMatch(hash::startsWith),
+                () -> String.format("%s (%s, %s) is outside %s", hash, lat, lon, cells));
+    }
+}
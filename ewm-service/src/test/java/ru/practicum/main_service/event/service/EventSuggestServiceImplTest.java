@@ -0,0 +1,116 @@
+package ru.practicum.main_service.event.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.main_service.event.dto.EventSuggestionDto;
+import ru.practicum.main_service.event.dto.EventTitleView;
+import ru.practicum.main_service.event.enums.EventState;
+import ru.practicum.main_service.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSuggestServiceImplTest {
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.now().plusDays(7);
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final StatsService statsService = mock(StatsService.class);
+    private final EventSuggestServiceImpl service = new EventSuggestServiceImpl(eventRepository, statsService);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "viewsBatchSize", 2);
+    }
+
+    @Test
+    void rebuildIndexesPublishedEventsWithViews() {
+        when(eventRepository.findTitleViewsByStateAndEventDateAfter(eq(EventState.PUBLISHED), any()))
+                .thenReturn(List.of(view(1L, "Rock night"), view(2L, "Rock festival"), view(3L, "Rock concert")));
+        when(statsService.getViews(anyCollection())).thenReturn(Map.of(2L, 10L, 3L, 5L));
+
+        service.rebuild();
+
+        assertEquals(List.of(2L, 3L, 1L), ids(service.suggest("rock", 10)));
+    }
+
+    @Test
+    void onEventChangedUpdatesIndexAndKeepsViews() {
+        when(eventRepository.findTitleViewsByStateAndEventDateAfter(eq(EventState.PUBLISHED), any()))
+                .thenReturn(List.of(view(1L, "Rock night"), view(2L, "Rock festival")));
+        when(statsService.getViews(anyCollection())).thenReturn(Map.of(1L, 10L));
+        service.rebuild();
+
+        when(eventRepository.findTitleViewByIdAndState(1L, EventState.PUBLISHED))
+                .thenReturn(Optional.of(view(1L, "Rock opera")));
+        when(eventRepository.findTitleViewByIdAndState(2L, EventState.PUBLISHED)).thenReturn(Optional.empty());
+        service.onEventChanged(new EventChangedEvent(1L, null, null));
+        service.onEventChanged(new EventChangedEvent(2L, null, null));
+
+        assertEquals(List.of("Rock opera"), titles(service.suggest("rock", 10)));
+        assertEquals(List.of(), ids(service.suggest("festival", 10)));
+    }
+
+    @Test
+    void rebuildReplaysChangesMadeWhileItRuns() {
+        when(eventRepository.findTitleViewsByStateAndEventDateAfter(eq(EventState.PUBLISHED), any()))
+                .thenReturn(List.of(view(1L, "Rock night"), view(2L, "Rock festival")));
+        when(eventRepository.findTitleViewByIdAndState(1L, EventState.PUBLISHED))
+                .thenReturn(Optional.of(view(1L, "Rock opera")));
+        when(eventRepository.findTitleViewByIdAndState(2L, EventState.PUBLISHED)).thenReturn(Optional.empty());
+        when(eventRepository.findTitleViewByIdAndState(3L, EventState.PUBLISHED))
+                .thenReturn(Optional.of(view(3L, "Rock concert")));
+        // Изменения приходят после того, как перестроение прочитало события, но до замены индекса
+        when(statsService.getViews(anyCollection())).thenAnswer(invocation -> {
+            service.onEventChanged(new EventChangedEvent(1L, null, null));
+            service.onEventChanged(new EventChangedEvent(2L, null, null));
+            service.onEventChanged(new EventChangedEvent(3L, null, null));
+            return Map.of(1L, 10L);
+        });
+
+        service.rebuild();
+
+        assertEquals(List.of("Rock opera", "Rock concert"), titles(service.suggest("rock", 10)));
+        assertEquals(List.of(), ids(service.suggest("night", 10)));
+        assertEquals(List.of(), ids(service.suggest("festival", 10)));
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousIndex() {
+        when(eventRepository.findTitleViewsByStateAndEventDateAfter(eq(EventState.PUBLISHED), any()))
+                .thenReturn(List.of(view(1L, "Rock night")));
+        when(statsService.getViews(anyCollection())).thenReturn(Map.of());
+        service.rebuild();
+
+        when(statsService.getViews(anyCollection())).thenThrow(new IllegalStateException("Stats are unavailable"));
+        service.rebuild();
+
+        assertEquals(List.of(1L), ids(service.suggest("rock", 10)));
+    }
+
+    private static EventTitleView view(Long id, String title) {
+        return new EventTitleView(id, title, EVENT_DATE, EVENT_DATE.minusDays(30));
+    }
+
+    private static List<Long> ids(List<EventSuggestionDto> suggestions) {
+        return suggestions.stream()
+                .map(EventSuggestionDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> titles(List<EventSuggestionDto> suggestions) {
+        return suggestions.stream()
+                .map(EventSuggestionDto::getTitle)
+                .collect(Collectors.toList());
+    }
+}
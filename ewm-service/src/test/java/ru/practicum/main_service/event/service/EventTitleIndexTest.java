@@ -0,0 +1,163 @@
+package ru.practicum.main_service.event.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventTitleIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final LocalDateTime TOMORROW = NOW.plusDays(1);
+
+    private final EventTitleIndex index = new EventTitleIndex(10);
+
+    @Test
+    void ranksByViewsThenByNearestDate() {
+        index.put(1L, "Rock night", NOW.plusDays(3), 5);
+        index.put(2L, "Rock festival", NOW.plusDays(2), 50);
+        index.put(3L, "Rock concert", NOW.plusDays(1), 5);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(index.search("rock", 10, NOW)));
+        assertEquals(List.of(2L, 3L), ids(index.search("ro", 2, NOW)));
+    }
+
+    @Test
+    void putOverwritesExistingId() {
+        index.put(1L, "Rock night", TOMORROW, 5);
+        index.put(1L, "Jazz evening", TOMORROW, 7);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), ids(index.search("rock", 10, NOW)));
+        assertEquals(List.of(1L), ids(index.search("jazz", 10, NOW)));
+        assertEquals(7L, index.get(1L).getViews());
+    }
+
+    @Test
+    void putWithNewViewsReordersTitles() {
+        index.put(1L, "Rock night", TOMORROW, 5);
+        index.put(2L, "Rock festival", TOMORROW, 10);
+        index.put(1L, "Rock night", TOMORROW, 20);
+
+        assertEquals(List.of(1L, 2L), ids(index.search("rock", 10, NOW)));
+    }
+
+    @Test
+    void removePrunesWordsNoOtherTitleUses() {
+        index.put(1L, "Jazz evening", TOMORROW, 0);
+        index.put(2L, "Jam session", TOMORROW, 0);
+
+        index.remove(1L);
+
+        assertNull(index.get(1L));
+        assertEquals(List.of(), ids(index.search("jazz", 10, NOW)));
+        assertEquals(List.of(), ids(index.search("evening", 10, NOW)));
+        assertEquals(List.of(2L), ids(index.search("ja", 10, NOW)));
+
+        index.put(1L, "Jazz evening", TOMORROW, 0);
+        assertEquals(List.of(1L), ids(index.search("jazz", 10, NOW)));
+    }
+
+    @Test
+    void removeRecomputesBestTitles() {
+        EventTitleIndex small = new EventTitleIndex(2);
+        small.put(1L, "Rock night", TOMORROW, 30);
+        small.put(2L, "Rock festival", TOMORROW, 20);
+        small.put(3L, "Rock concert", TOMORROW, 10);
+
+        small.remove(1L);
+
+        assertEquals(List.of(2L, 3L), ids(small.search("rock", 2, NOW)));
+        assertEquals(List.of(2L, 3L), ids(small.search("r", 2, NOW)));
+    }
+
+    @Test
+    void removeUnknownIdIsIgnored() {
+        index.put(1L, "Rock night", TOMORROW, 0);
+
+        index.remove(2L);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(1L), ids(index.search("rock", 10, NOW)));
+    }
+
+    @Test
+    void matchesMultiWordPrefixes() {
+        index.put(1L, "Jazz evening downtown", TOMORROW, 0);
+        index.put(2L, "Evening jazz", TOMORROW, 0);
+
+        assertEquals(List.of(1L), ids(index.search("jazz ev", 10, NOW)));
+        assertEquals(List.of(1L), ids(index.search("  JAZZ   Evening  d", 10, NOW)));
+        assertEquals(List.of(2L), ids(index.search("evening j", 10, NOW)));
+        assertEquals(List.of(), ids(index.search("jazz downtown", 10, NOW)));
+    }
+
+    @Test
+    void matchesPunctuatedPrefixes() {
+        index.put(1L, "Rock-n-roll party", TOMORROW, 0);
+        index.put(2L, "Rock night", TOMORROW, 0);
+
+        assertEquals(List.of(1L), ids(index.search("rock-n", 10, NOW)));
+        assertEquals(List.of(1L), ids(index.search("roll", 10, NOW)));
+        assertEquals(List.of(1L, 2L), ids(index.search("«rock", 10, NOW)));
+        assertEquals(List.of(), ids(index.search("...", 10, NOW)));
+    }
+
+    @Test
+    void matchesOnlyFromStartOfWord() {
+        index.put(1L, "Nojazz evening", TOMORROW, 0);
+        index.put(2L, "Jazz club", TOMORROW, 0);
+
+        assertEquals(List.of(2L), ids(index.search("jazz", 10, NOW)));
+        assertEquals(List.of(), ids(index.search("jazz ev", 10, NOW)));
+        assertEquals(List.of(), ids(index.search("azz", 10, NOW)));
+    }
+
+    @Test
+    void matchesWordsLongerThanIndexedLength() {
+        index.put(1L, "Supercalifragilisticexpialidocious show", TOMORROW, 0);
+
+        assertEquals(List.of(1L), ids(index.search("supercalifragilisticexpi", 10, NOW)));
+        assertEquals(List.of(), ids(index.search("supercalifragilisticexpo", 10, NOW)));
+    }
+
+    @Test
+    void excludesPastEvents() {
+        index.put(1L, "Rock night", NOW.minusDays(1), 100);
+        index.put(2L, "Rock festival", NOW, 100);
+        index.put(3L, "Rock concert", TOMORROW, 0);
+
+        assertEquals(List.of(3L), ids(index.search("rock", 10, NOW)));
+    }
+
+    @Test
+    void scansSubtreeWhenBestTitlesDoNotMatch() {
+        EventTitleIndex small = new EventTitleIndex(2);
+        small.put(1L, "Jazz evening", TOMORROW, 100);
+        small.put(2L, "Jazz evening for two", TOMORROW, 90);
+        small.put(3L, "Evening jazz", TOMORROW, 1);
+
+        assertEquals(List.of(3L), ids(small.search("evening jazz", 10, NOW)));
+    }
+
+    @Test
+    void scansSubtreeWhenBestTitlesArePast() {
+        EventTitleIndex small = new EventTitleIndex(2);
+        small.put(1L, "Rock night", NOW.minusDays(2), 100);
+        small.put(2L, "Rock festival", NOW.minusDays(1), 90);
+        small.put(3L, "Rock concert", TOMORROW, 10);
+        small.put(4L, "Rock opera", TOMORROW.plusDays(1), 10);
+
+        assertEquals(List.of(3L, 4L), ids(small.search("rock", 10, NOW)));
+        assertEquals(List.of(3L), ids(small.search("rock", 1, NOW)));
+    }
+
+    private static List<Long> ids(List<EventTitleIndex.Entry> entries) {
+        return entries.stream()
+                .map(EventTitleIndex.Entry::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.main_service.event.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.main_service.event.dto.LocationDto;
+import ru.practicum.stats_client.ReactiveStatsClient;
+import ru.practicum.stats_client.StatsClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+@ActiveProfiles("ci")
+class LocationServiceImplTest {
+    private static final int THREADS = 4;
+
+    @Autowired
+    private LocationService locationService;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @MockBean
+    private ReactiveStatsClient reactiveStatsClient;
+
+    @Test
+    void nearbyCoordinatesShareLocation() {
+        Long first = locationService.getOrSave(new LocationDto(43.11521f, 131.88532f)).getId();
+        Long second = locationService.getOrSave(new LocationDto(43.115213f, 131.885326f)).getId();
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void distantCoordinatesGetOwnLocations() {
+        Long first = locationService.getOrSave(new LocationDto(43.1152f, 131.8853f)).getId();
+        Long second = locationService.getOrSave(new LocationDto(43.1162f, 131.8853f)).getId();
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void concurrentCallsShareLocation() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 10; round++) {
+                // Every round uses new coordinates, so the calls miss the cache and race on the insert
+                LocationDto location = new LocationDto(48.48f + round * 0.01f, 135.07f);
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Future<Long>> ids = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    ids.add(executor.submit(() -> {
+                        start.await();
+                        return locationService.getOrSave(location).getId();
+                    }));
+                }
+
+                Set<Long> distinct = ids.stream()
+                        .map(LocationServiceImplTest::get)
+                        .collect(Collectors.toSet());
+                assertEquals(1, distinct.size(), "round " + round + ": " + distinct);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Long get(Future<Long> id) {
+        try {
+            return id.get();
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
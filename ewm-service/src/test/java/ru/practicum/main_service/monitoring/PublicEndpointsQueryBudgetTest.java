@@ -0,0 +1,175 @@
+package ru.practicum.main_service.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import reactor.core.publisher.Mono;
+import ru.practicum.main_service.MainCommonUtils;
+import ru.practicum.stats_client.ReactiveStatsClient;
+import ru.practicum.stats_client.StatsClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the public endpoints. The budgets do not depend on the number of events returned,
+ * so a lazy association loaded per event fails the test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("ci")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PublicEndpointsQueryBudgetTest {
+    private static final int EVENTS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @MockBean
+    private ReactiveStatsClient reactiveStatsClient;
+
+    private final List<Long> eventIds = new ArrayList<>();
+    private long compilationId;
+
+    @BeforeEach
+    void stubStats() {
+        when(reactiveStatsClient.getEventHits(any(), any(), any(), any())).thenReturn(Mono.just(Map.of()));
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        stubStats();
+        String eventDate = LocalDateTime.now().plusDays(7).format(MainCommonUtils.DT_FORMATTER);
+
+        for (int i = 0; i < EVENTS; i++) {
+            long userId = create(post("/admin/users"),
+                    Map.of("name", "User " + i, "email", "user" + i + "@example.com"));
+            long categoryId = create(post("/admin/categories"), Map.of("name", "Category " + i));
+            long eventId = create(post("/users/{userId}/events", userId), Map.of(
+                    "annotation", "Annotation of the event number " + i,
+                    "description", "Description of the event number " + i,
+                    "category", categoryId,
+                    "eventDate", eventDate,
+                    "location", Map.of("lat", 55.75 + i * 0.01, "lon", 37.62),
+                    "participantLimit", 10,
+                    "title", "Event " + i));
+            send(patch("/admin/events/{eventId}", eventId), Map.of("stateAction", "PUBLISH_EVENT"));
+            eventIds.add(eventId);
+        }
+
+        compilationId = create(post("/admin/compilations"),
+                Map.of("title", "All events", "pinned", true, "events", eventIds));
+    }
+
+    @Test
+    void searchesEventsWithinBudget() throws Exception {
+        mockMvc.perform(get("/events").param("size", String.valueOf(EVENTS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EVENTS))
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void searchesEventsByTextAndAreaWithinBudget() throws Exception {
+        mockMvc.perform(get("/events")
+                        .param("text", "event")
+                        .param("lat", "55.78")
+                        .param("lon", "37.62")
+                        .param("radius", "50")
+                        .param("onlyAvailable", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EVENTS))
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void searchesEventsWithFacetsWithinBudget() throws Exception {
+        mockMvc.perform(get("/events")
+                        .param("facets", "true")
+                        .param("lat", "55.78")
+                        .param("lon", "37.62")
+                        .param("radius", "50")
+                        .param("categories", "0")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(0))
+                .andExpect(jsonPath("$.facets.categories.length()").value(EVENTS))
+                .andExpect(jsonPath("$.facets.free").value(0))
+                .andExpect(QueryBudget.atMost(2));
+
+        mockMvc.perform(get("/events")
+                        .param("facets", "true")
+                        .param("lat", "55.78")
+                        .param("lon", "37.62")
+                        .param("radius", "50")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.facets.categories.length()").value(EVENTS))
+                .andExpect(jsonPath("$.facets.free").value(EVENTS))
+                .andExpect(QueryBudget.atMost(3));
+    }
+
+    @Test
+    void getsEventByIdWithinBudget() throws Exception {
+        mockMvc.perform(get("/events/{id}", eventIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void getsCompilationsWithinBudget() throws Exception {
+        mockMvc.perform(get("/compilations").param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].events.length()").value(EVENTS))
+                .andExpect(QueryBudget.atMost(4));
+    }
+
+    @Test
+    void getsCompilationByIdWithinBudget() throws Exception {
+        mockMvc.perform(get("/compilations/{compId}", compilationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(EVENTS))
+                .andExpect(QueryBudget.atMost(3));
+    }
+
+    private long create(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        JsonNode created = objectMapper.readTree(send(request, body));
+        return created.get("id").asLong();
+    }
+
+    private String send(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return mockMvc.perform(request
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.main_service.monitoring;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts the number of SQL statements a request executed, as reported by {@link QueryBudgetFilter}
+ * in the X-Query-Count header. The header is only returned when ewm.query-budget.header-enabled is set,
+ * as it is in the ci profile.
+ */
+public final class QueryBudget {
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            MockHttpServletRequest request = result.getRequest();
+            int statements = statements(result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER));
+            assertTrue(statements <= maxStatements, () -> String.format(
+                    "%s %s executed %d SQL statements, the budget is %d",
+                    request.getMethod(), request.getRequestURI(), statements, maxStatements));
+        };
+    }
+
+    private static int statements(String header) {
+        assertNotNull(header, "The response has no " + QueryBudgetFilter.QUERY_COUNT_HEADER +
+                " header, ewm.query-budget.header-enabled must be set");
+        return Integer.parseInt(header);
+    }
+}
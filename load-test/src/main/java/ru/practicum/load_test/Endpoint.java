@@ -0,0 +1,23 @@
+package ru.practicum.load_test;
+
+/**
+ * Kinds of traffic the load test sends to the main service.
+ */
+public enum Endpoint {
+    /**
+     * GET /events with a random combination of filters.
+     */
+    SEARCH,
+    /**
+     * GET /events/{id} of a published event.
+     */
+    DETAIL,
+    /**
+     * POST /users/{userId}/requests, a new participation request.
+     */
+    REQUEST,
+    /**
+     * PATCH /users/{userId}/events/{eventId}/requests, confirmation of a pending request by the initiator.
+     */
+    MODERATION
+}
@@ -0,0 +1,70 @@
+package ru.practicum.load_test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are scheduled at a fixed rate regardless of how fast the service answers,
+ * and latency is measured from the scheduled start. A slow service therefore shows up in the percentiles
+ * instead of silently lowering the offered load.
+ */
+public class LoadDriver {
+    private final TrafficGenerator traffic;
+    private final HttpClient httpClient;
+    private final Random random;
+    private final long intervalNanos;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    public LoadDriver(LoadTestOptions options, TrafficGenerator traffic) {
+        this.traffic = traffic;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getRequestTimeout())
+                .build();
+        this.random = new Random(options.getRandomSeed());
+        this.intervalNanos = 1_000_000_000L / options.getRps();
+        this.maxInFlight = options.getMaxInFlight();
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Sends traffic for the given time and waits for the requests still in flight.
+     *
+     * @return time from the first scheduled request until the last response, in nanoseconds
+     */
+    public long run(Duration duration, LoadReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = traffic.next(random);
+            if (!inFlight.tryAcquire()) {
+                report.recordDropped(endpoint);
+                continue;
+            }
+            httpClient.sendAsync(traffic.request(endpoint, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, exception) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        inFlight.release();
+                        report.record(endpoint, latency, response == null ? LoadReport.NO_RESPONSE : response.statusCode());
+                    });
+        }
+
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.load_test;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects latencies and response codes per endpoint. Safe for concurrent use by the HTTP client threads.
+ * 4xx answers are expected outcomes of the mix (a repeated participation request is a 409), only 5xx and
+ * requests without a response count as errors.
+ */
+public class LoadReport {
+    static final int NO_RESPONSE = -1;
+
+    private final Map<Endpoint, EndpointRecorder> recorders = new EnumMap<>(Endpoint.class);
+
+    public LoadReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new EndpointRecorder());
+        }
+    }
+
+    public void record(Endpoint endpoint, long latencyNanos, int status) {
+        EndpointRecorder recorder = recorders.get(endpoint);
+        recorder.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        recorder.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    public void recordDropped(Endpoint endpoint) {
+        recorders.get(endpoint).dropped.increment();
+    }
+
+    public List<EndpointSummary> summarize(long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        List<EndpointSummary> summaries = new ArrayList<>();
+
+        for (Map.Entry<Endpoint, EndpointRecorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().latencies.getIntervalHistogram();
+            Map<String, Long> statuses = new TreeMap<>();
+            long errors = 0;
+            for (Map.Entry<Integer, LongAdder> status : entry.getValue().statuses.entrySet()) {
+                long count = status.getValue().sum();
+                statuses.put(status.getKey() == NO_RESPONSE ? "none" : String.valueOf(status.getKey()), count);
+                if (status.getKey() == NO_RESPONSE || status.getKey() >= 500) {
+                    errors += count;
+                }
+            }
+            if (histogram.getTotalCount() == 0 && entry.getValue().dropped.sum() == 0) {
+                continue;
+            }
+
+            summaries.add(EndpointSummary.builder()
+                    .endpoint(entry.getKey())
+                    .requests(histogram.getTotalCount())
+                    .errors(errors)
+                    .dropped(entry.getValue().dropped.sum())
+                    .throughput(histogram.getTotalCount() / elapsedSeconds)
+                    .p50(millis(histogram, 50))
+                    .p90(millis(histogram, 90))
+                    .p99(millis(histogram, 99))
+                    .p999(millis(histogram, 99.9))
+                    .max(histogram.getMaxValue() / 1000.0)
+                    .statuses(statuses)
+                    .build());
+        }
+        return summaries;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static class EndpointRecorder {
+        final Recorder latencies = new Recorder(3);
+        final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder dropped = new LongAdder();
+    }
+
+    /**
+     * Results of one endpoint, latencies in milliseconds and throughput in requests per second.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    @Getter
+    @Builder
+    public static class EndpointSummary {
+        Endpoint endpoint;
+        long requests;
+        long errors;
+        long dropped;
+        double throughput;
+        double p50;
+        double p90;
+        double p99;
+        double p999;
+        double max;
+        Map<String, Long> statuses;
+    }
+}
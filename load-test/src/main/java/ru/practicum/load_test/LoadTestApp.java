@@ -0,0 +1,75 @@
+package ru.practicum.load_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots both services in this JVM, seeds them and drives a mixed traffic at a fixed rate.
+ * Prints p50/p99 latency and throughput per endpoint and writes them as JSON, so builds can be compared.
+ */
+public class LoadTestApp {
+    public static void main(String[] args) throws InterruptedException, IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        PrintStream out = System.out;
+
+        try (ServiceEnvironment environment = new ServiceEnvironment(options)) {
+            LoadTestSeeder seeder = new LoadTestSeeder(options);
+            long started = System.currentTimeMillis();
+            seeder.seedEwm(environment.getEwm());
+            seeder.seedHits(environment.getStats());
+            out.printf("Seeded %d events, %d requests per event and %d hits in %d s%n", options.getEvents(),
+                    options.getRequestsPerEvent(), options.getHits(), (System.currentTimeMillis() - started) / 1000);
+
+            LoadDriver driver = new LoadDriver(options, new TrafficGenerator(options, environment.getEwmUrl()));
+            if (!options.getWarmup().isZero()) {
+                out.printf("Warming up for %s at %d rps%n", options.getWarmup(), options.getRps());
+                driver.run(options.getWarmup(), new LoadReport());
+            }
+
+            out.printf("Measuring for %s at %d rps%n", options.getDuration(), options.getRps());
+            LoadReport report = new LoadReport();
+            long elapsed = driver.run(options.getDuration(), report);
+            List<LoadReport.EndpointSummary> summaries = report.summarize(elapsed);
+
+            print(out, summaries);
+            write(Path.of(options.getReport()), options, summaries);
+            out.printf("Report written to %s%n", options.getReport());
+        }
+    }
+
+    private static void print(PrintStream out, List<LoadReport.EndpointSummary> summaries) {
+        out.printf("%-12s %9s %7s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (LoadReport.EndpointSummary summary : summaries) {
+            out.printf("%-12s %9d %7d %8d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    summary.getEndpoint(), summary.getRequests(), summary.getErrors(), summary.getDropped(),
+                    summary.getThroughput(), summary.getP50(), summary.getP90(), summary.getP99(), summary.getMax(),
+                    summary.getStatuses());
+        }
+    }
+
+    private static void write(Path path, LoadTestOptions options, List<LoadReport.EndpointSummary> summaries)
+            throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("db", options.getDb());
+        report.put("virtualThreads", options.isVirtualThreads());
+        report.put("events", options.getEvents());
+        report.put("hits", options.getHits());
+        report.put("requestsPerEvent", options.getRequestsPerEvent());
+        report.put("rps", options.getRps());
+        report.put("durationSeconds", options.getDuration().toSeconds());
+        report.put("mix", options.getMix());
+        report.put("endpoints", summaries);
+
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), report);
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.load_test;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+public class LoadTestOptions {
+    String db = "h2";
+    String ewmDbUrl;
+    String statsDbUrl;
+    String dbUser = "admin";
+    String dbPassword = "admin";
+    boolean virtualThreads = false;
+
+    int events = 100_000;
+    long hits = 10_000_000;
+    int requestsPerEvent = 5;
+
+    int rps = 200;
+    Duration warmup = Duration.ofSeconds(15);
+    Duration duration = Duration.ofSeconds(60);
+    int maxInFlight = 1_000;
+    Duration requestTimeout = Duration.ofSeconds(10);
+    long randomSeed = 42;
+    Map<Endpoint, Integer> mix = new EnumMap<>(Map.of(
+            Endpoint.SEARCH, 50,
+            Endpoint.DETAIL, 30,
+            Endpoint.REQUEST, 15,
+            Endpoint.MODERATION, 5));
+    String report = "load-test-report.json";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options must look like --name=value: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.db = values.getOrDefault("db", options.db);
+        options.ewmDbUrl = values.getOrDefault("ewm-db-url", options.ewmDbUrl);
+        options.statsDbUrl = values.getOrDefault("stats-db-url", options.statsDbUrl);
+        options.dbUser = values.getOrDefault("db-user", options.dbUser);
+        options.dbPassword = values.getOrDefault("db-password", options.dbPassword);
+        options.virtualThreads = Boolean.parseBoolean(values.getOrDefault("virtual-threads",
+                String.valueOf(options.virtualThreads)));
+        options.events = Integer.parseInt(values.getOrDefault("events", String.valueOf(options.events)));
+        options.hits = Long.parseLong(values.getOrDefault("hits", String.valueOf(options.hits)));
+        options.requestsPerEvent = Integer.parseInt(values.getOrDefault("requests-per-event",
+                String.valueOf(options.requestsPerEvent)));
+        options.rps = Integer.parseInt(values.getOrDefault("rps", String.valueOf(options.rps)));
+        options.warmup = parseDuration(values.get("warmup"), options.warmup);
+        options.duration = parseDuration(values.get("duration"), options.duration);
+        options.maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", String.valueOf(options.maxInFlight)));
+        options.requestTimeout = parseDuration(values.get("request-timeout"), options.requestTimeout);
+        options.randomSeed = Long.parseLong(values.getOrDefault("seed", String.valueOf(options.randomSeed)));
+        options.report = values.getOrDefault("report", options.report);
+        if (values.containsKey("mix")) {
+            options.mix = parseMix(values.get("mix"));
+        }
+
+        options.validate();
+        return options;
+    }
+
+    public boolean isPostgres() {
+        return "postgres".equalsIgnoreCase(db);
+    }
+
+    private void validate() {
+        if (!isPostgres() && !"h2".equalsIgnoreCase(db)) {
+            throw new IllegalArgumentException("Unknown database: " + db + ". Use h2 or postgres.");
+        }
+        // The run recreates the schema, so the databases must be named explicitly and be distinct
+        if (isPostgres() && (ewmDbUrl == null || statsDbUrl == null || ewmDbUrl.equals(statsDbUrl))) {
+            throw new IllegalArgumentException("--db=postgres drops and recreates the tables, set dedicated databases " +
+                    "with --ewm-db-url and --stats-db-url.");
+        }
+        if (events < 10 || hits < 0 || rps < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("events must be at least 10, rps and max-in-flight at least 1.");
+        }
+        if (requestsPerEvent < 0 || requestsPerEvent >= LoadTestSeeder.users(events)) {
+            throw new IllegalArgumentException("requests-per-event must be less than the number of users.");
+        }
+        if (requestsPerEvent == 0 && mix.getOrDefault(Endpoint.MODERATION, 0) > 0) {
+            throw new IllegalArgumentException("Moderation traffic needs seeded requests, set requests-per-event.");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The traffic mix must have a positive weight.");
+        }
+    }
+
+    /**
+     * Parses "search=50,detail=30" into endpoint weights.
+     */
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split("=");
+            mix.put(Endpoint.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * Accepts plain seconds ("60") as well as ISO-8601 ("PT1M") and the short form ("90s", "2m").
+     */
+    private static Duration parseDuration(String value, Duration defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.startsWith("P")) {
+            return Duration.parse(value);
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
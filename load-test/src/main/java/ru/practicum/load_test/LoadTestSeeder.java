@@ -0,0 +1,150 @@
+package ru.practicum.load_test;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.main_service.event.geo.GeoHash;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills both databases with deterministic data through plain JDBC batches.
+ * The traffic generator derives valid ids from the same rules, so the layout below is a contract:
+ * <ul>
+ *     <li>event i is initiated by user {@code i % users + 1}, every tenth event is still pending;</li>
+ *     <li>event i has participation requests {@code (i - 1) * requestsPerEvent + j} for j in 1..requestsPerEvent,
+ *     from user {@code (i + j) % users + 1}, odd j are pending and even j are confirmed.</li>
+ * </ul>
+ */
+public class LoadTestSeeder {
+    static final int CATEGORIES = 20;
+    static final String[] WORDS = {"concert", "jazz", "rock", "lecture", "workshop", "festival", "tour", "movie"};
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final LoadTestOptions options;
+
+    public LoadTestSeeder(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    static int users(int events) {
+        return Math.max(100, events / 10);
+    }
+
+    static boolean isPublished(long eventId) {
+        return eventId % 10 != 0;
+    }
+
+    static boolean isModerated(long eventId) {
+        return eventId % 4 != 0;
+    }
+
+    public void seedEwm(ConfigurableApplicationContext ewm) {
+        JdbcTemplate jdbc = jdbcTemplate(ewm);
+        int events = options.getEvents();
+        int users = users(events);
+        int requestsPerEvent = options.getRequestsPerEvent();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            rows.add(new Object[]{(long) i, "user" + i + "@mail.ru", "User " + i});
+            flushIfFull(jdbc, "INSERT INTO users (id, email, name) VALUES (?, ?, ?)", rows);
+        }
+        insert(jdbc, "INSERT INTO users (id, email, name) VALUES (?, ?, ?)", rows);
+
+        for (int i = 1; i <= CATEGORIES; i++) {
+            rows.add(new Object[]{(long) i, "category " + i});
+        }
+        insert(jdbc, "INSERT INTO categories (id, name) VALUES (?, ?)", rows);
+
+        String locationSql = "INSERT INTO locations (id, lat, lon, geohash) VALUES (?, ?, ?, ?)";
+        for (int i = 1; i <= events; i++) {
+            float lat = 55.0f + i % 1000 / 1000f;
+            float lon = 37.0f + i % 997 / 1000f;
+            rows.add(new Object[]{(long) i, lat, lon, GeoHash.encode(lat, lon)});
+            flushIfFull(jdbc, locationSql, rows);
+        }
+        insert(jdbc, locationSql, rows);
+
+        String eventSql = "INSERT INTO events (id, annotation, category_id, created_on, description, event_date, " +
+                "location_id, paid, participant_limit, published_on, request_moderation, state, title, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int i = 1; i <= events; i++) {
+            String word = WORDS[i % WORDS.length];
+            boolean published = isPublished(i);
+            rows.add(new Object[]{(long) i, "Annotation of the " + word + " number " + i,
+                    (long) (i % CATEGORIES + 1), Timestamp.valueOf(now.minusDays(30)),
+                    "Description of the " + word + " that is long enough to look like a real one, number " + i,
+                    Timestamp.valueOf(now.plusDays(1).plusMinutes(i)), (long) i, i % 2 == 0,
+                    isModerated(i) ? 100_000 : 0, published ? Timestamp.valueOf(now.minusDays(1)) : null, true,
+                    published ? "PUBLISHED" : "PENDING", "Event " + i, (long) (i % users + 1)});
+            flushIfFull(jdbc, eventSql, rows);
+        }
+        insert(jdbc, eventSql, rows);
+
+        String requestSql = "INSERT INTO requests (id, created, status, event_id, requester_id) VALUES (?, ?, ?, ?, ?)";
+        long requestId = 1;
+        for (int i = 1; i <= events; i++) {
+            for (int j = 1; j <= requestsPerEvent; j++) {
+                rows.add(new Object[]{requestId++, Timestamp.valueOf(now.minusHours(j)),
+                        j % 2 == 1 ? "PENDING" : "CONFIRMED", (long) i, (long) ((i + j) % users + 1)});
+            }
+            flushIfFull(jdbc, requestSql, rows);
+        }
+        insert(jdbc, requestSql, rows);
+
+        // Explicit ids do not move the sequences, so the services would collide with the seeded rows.
+        restartSequence(jdbc, "users", users + 1);
+        restartSequence(jdbc, "categories", CATEGORIES + 1);
+        restartSequence(jdbc, "locations", events + 1);
+        restartSequence(jdbc, "events", events + 1);
+        restartSequence(jdbc, "requests", requestId);
+    }
+
+    public void seedHits(ConfigurableApplicationContext stats) {
+        JdbcTemplate jdbc = jdbcTemplate(stats);
+        LocalDateTime now = LocalDateTime.now();
+        int events = options.getEvents();
+        String sql = "INSERT INTO stats (id, app_name, user_ip, created, uri) VALUES (?, ?, ?, ?, ?)";
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long i = 1; i <= options.getHits(); i++) {
+            rows.add(new Object[]{i, "main-service", "10." + i % 200 + "." + i % 250 + "." + i % 100,
+                    Timestamp.valueOf(now.minusSeconds(i % 2_592_000)), "/events/" + (i % events + 1)});
+            flushIfFull(jdbc, sql, rows);
+        }
+        insert(jdbc, sql, rows);
+        restartSequence(jdbc, "stats", options.getHits() + 1L);
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (rows.size() >= BATCH_SIZE) {
+            insert(jdbc, sql, rows);
+        }
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    /**
+     * Hibernate allocates ids in blocks of {@value #ID_ALLOCATION_SIZE} and treats the value it reads as the top
+     * of the block, so the sequence restarts a whole block above the next free id.
+     */
+    private static void restartSequence(JdbcTemplate jdbc, String table, long next) {
+        jdbc.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (next + ID_ALLOCATION_SIZE - 1));
+    }
+
+    private static JdbcTemplate jdbcTemplate(ConfigurableApplicationContext context) {
+        return new JdbcTemplate(context.getBean(DataSource.class));
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.load_test;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.main_service.MainServiceApp;
+import ru.practicum.stats_server.StatsServiceApp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the stats service and the main service in this JVM on random ports, so the test needs no network
+ * and no running containers. Both jars ship their own application.properties and schema.sql at the class path
+ * root, so the services read dedicated property files and their schema.sql copies under schema/ewm and schema/stats.
+ */
+public class ServiceEnvironment implements AutoCloseable {
+    private final ConfigurableApplicationContext stats;
+    private final ConfigurableApplicationContext ewm;
+
+    public ServiceEnvironment(LoadTestOptions options) {
+        stats = new SpringApplicationBuilder(StatsServiceApp.class)
+                .properties(properties("load-test-stats", options, options.getStatsDbUrl(),
+                        "jdbc:h2:mem:stats-load-test"))
+                .run();
+
+        Map<String, Object> ewmProperties = properties("load-test-ewm", options, options.getEwmDbUrl(),
+                "jdbc:h2:mem:ewm-load-test");
+        ewmProperties.put("stats-server.url", "http://localhost:" + port(stats));
+        ewm = new SpringApplicationBuilder(MainServiceApp.class)
+                .properties(ewmProperties)
+                .run();
+    }
+
+    public ConfigurableApplicationContext getStats() {
+        return stats;
+    }
+
+    public ConfigurableApplicationContext getEwm() {
+        return ewm;
+    }
+
+    public String getEwmUrl() {
+        return "http://localhost:" + port(ewm);
+    }
+
+    @Override
+    public void close() {
+        ewm.close();
+        stats.close();
+    }
+
+    private static Map<String, Object> properties(String configName, LoadTestOptions options, String postgresUrl,
+                                                  String h2Url) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.config.name", configName);
+        properties.put("ewm.virtual-threads.enabled", options.isVirtualThreads());
+        properties.put("stats.virtual-threads.enabled", options.isVirtualThreads());
+        if (options.isPostgres()) {
+            properties.put("spring.datasource.driverClassName", "org.postgresql.Driver");
+            properties.put("spring.datasource.url", postgresUrl);
+            properties.put("spring.datasource.username", options.getDbUser());
+            properties.put("spring.datasource.password", options.getDbPassword());
+        } else {
+            properties.put("spring.datasource.driverClassName", "org.h2.Driver");
+            properties.put("spring.datasource.url", h2Url + ";DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.username", "test");
+            properties.put("spring.datasource.password", "test");
+        }
+        return properties;
+    }
+
+    private static String port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port");
+    }
+}
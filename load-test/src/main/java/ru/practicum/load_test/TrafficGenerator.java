@@ -0,0 +1,134 @@
+package ru.practicum.load_test;
+
+import ru.practicum.main_service.MainCommonUtils;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Builds requests of the traffic mix. Ids are derived from the layout described in {@link LoadTestSeeder},
+ * so every request targets data that exists.
+ */
+public class TrafficGenerator {
+    private final String baseUrl;
+    private final int events;
+    private final int users;
+    private final int requestsPerEvent;
+    private final Duration requestTimeout;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    public TrafficGenerator(LoadTestOptions options, String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.events = options.getEvents();
+        this.users = LoadTestSeeder.users(events);
+        this.requestsPerEvent = options.getRequestsPerEvent();
+        this.requestTimeout = options.getRequestTimeout();
+
+        Map<Endpoint, Integer> mix = options.getMix();
+        endpoints = mix.keySet().toArray(Endpoint[]::new);
+        cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Endpoint next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < endpoints.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    public HttpRequest request(Endpoint endpoint, Random random) {
+        switch (endpoint) {
+            case SEARCH:
+                return get("/events?" + searchQuery(random));
+            case DETAIL:
+                return get("/events/" + publishedEvent(random));
+            case REQUEST:
+                return send("POST", "/users/" + (random.nextInt(users) + 1) + "/requests?eventId=" +
+                        publishedEvent(random), HttpRequest.BodyPublishers.noBody());
+            case MODERATION:
+                return moderation(random);
+            default:
+                throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+    }
+
+    private String searchQuery(Random random) {
+        StringJoiner query = new StringJoiner("&");
+        if (random.nextInt(2) == 0) {
+            query.add("text=" + LoadTestSeeder.WORDS[random.nextInt(LoadTestSeeder.WORDS.length)]);
+        }
+        if (random.nextInt(10) < 3) {
+            query.add("categories=" + (random.nextInt(LoadTestSeeder.CATEGORIES) + 1));
+            query.add("categories=" + (random.nextInt(LoadTestSeeder.CATEGORIES) + 1));
+        }
+        if (random.nextInt(10) < 3) {
+            query.add("paid=" + random.nextBoolean());
+        }
+        if (random.nextInt(10) < 3) {
+            LocalDateTime rangeStart = LocalDateTime.now().plusDays(random.nextInt(30));
+            query.add("rangeStart=" + encode(rangeStart.format(MainCommonUtils.DT_FORMATTER)));
+            query.add("rangeEnd=" + encode(rangeStart.plusDays(7).format(MainCommonUtils.DT_FORMATTER)));
+        }
+        if (random.nextInt(10) < 2) {
+            query.add("onlyAvailable=true");
+        }
+        query.add("from=" + random.nextInt(5) * 10);
+        query.add("size=10");
+        return query.toString();
+    }
+
+    /**
+     * Confirms one pending request of a moderated event on behalf of its initiator.
+     * A request that was confirmed earlier in the run is answered with 409, which counts as an expected outcome.
+     */
+    private HttpRequest moderation(Random random) {
+        long eventId = publishedEvent(random);
+        while (!LoadTestSeeder.isModerated(eventId)) {
+            eventId = publishedEvent(random);
+        }
+        int pending = random.nextInt((requestsPerEvent + 1) / 2) * 2 + 1;
+        long requestId = (eventId - 1) * requestsPerEvent + pending;
+        long initiatorId = eventId % users + 1;
+
+        String body = "{\"requestIds\":[" + requestId + "],\"status\":\"CONFIRMED\"}";
+        return send("PATCH", "/users/" + initiatorId + "/events/" + eventId + "/requests",
+                HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private long publishedEvent(Random random) {
+        long eventId = random.nextInt(events) + 1;
+        return LoadTestSeeder.isPublished(eventId) ? eventId : eventId - 1;
+    }
+
+    private HttpRequest get(String path) {
+        return send("GET", path, HttpRequest.BodyPublishers.noBody());
+    }
+
+    private HttpRequest send(String method, String path, HttpRequest.BodyPublisher body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body)
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
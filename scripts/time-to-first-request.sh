@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Starts a service and prints the time until it first answers a request with a 2xx status.
+# usage: scripts/time-to-first-request.sh <url> <command...>
+# e.g.   scripts/time-to-first-request.sh http://localhost:9090/actuator/health/readiness \
+#            java -jar stats/stats-service/target/stats-service-0.0.1-SNAPSHOT-exec.jar
+# The output of the service goes to $LOG (/dev/null by default).
+set -euo pipefail
+
+url=$1
+shift
+
+start=$(date +%s%N)
+"$@" > "${LOG:-/dev/null}" 2>&1 &
+pid=$!
+trap 'kill $pid 2> /dev/null; wait $pid 2> /dev/null || true' EXIT
+
+until curl -sf -o /dev/null "$url"; do
+    if ! kill -0 $pid 2> /dev/null; then
+        echo "The service exited before answering $url" >&2
+        exit 1
+    fi
+    sleep 0.05
+done
+
+echo "$(( ($(date +%s%N) - start) / 1000000 )) ms to the first response from $url"
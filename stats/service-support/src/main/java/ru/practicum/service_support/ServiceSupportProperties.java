@@ -0,0 +1,53 @@
+package ru.practicum.service_support;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of the shared infrastructure. Every service binds them under its own prefix,
+ * for example ewm.request-log.sample-rate or stats.request-log.sample-rate.
+ */
+@Getter
+@Setter
+public class ServiceSupportProperties {
+    private final RequestLog requestLog = new RequestLog();
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+    private final Cds cds = new Cds();
+    private final FastStart fastStart = new FastStart();
+
+    @Getter
+    @Setter
+    public static class RequestLog {
+        /**
+         * Share of requests logged by SampledRequestLoggingFilter, server errors are always logged.
+         */
+        private double sampleRate = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class VirtualThreads {
+        /**
+         * Handles Tomcat requests on virtual threads, requires a Java 21 runtime.
+         */
+        private boolean enabled;
+    }
+
+    @Getter
+    @Setter
+    public static class Cds {
+        /**
+         * Exits once the context is ready, set by the class-data-sharing training run of Dockerfile.cds.
+         */
+        private boolean trainingRun;
+    }
+
+    @Getter
+    @Setter
+    public static class FastStart {
+        /**
+         * Table whose presence means the schema exists, schema.sql is then skipped.
+         */
+        private String schemaTable;
+    }
+}
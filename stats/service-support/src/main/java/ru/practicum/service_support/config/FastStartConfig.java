@@ -0,0 +1,90 @@
+package ru.practicum.service_support.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.service_support.ServiceSupportProperties;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+@Configuration
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+@Slf4j
+public class FastStartConfig {
+    /**
+     * Meter binders stay eager under spring.main.lazy-initialization, otherwise their meters would only appear
+     * after the first request that touches the bean.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerMeterBinders() {
+        return LazyInitializationExcludeFilter.forBeanTypes(MeterBinder.class);
+    }
+
+    /**
+     * Stops the class-data-sharing training run of Dockerfile.cds once the context is ready; the classes loaded
+     * up to that point form the archive.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> exitAfterTrainingRun(ServiceSupportProperties properties) {
+        return event -> {
+            if (properties.getCds().isTrainingRun()) {
+                System.exit(SpringApplication.exit(event.getApplicationContext()));
+            }
+        };
+    }
+
+    /**
+     * Runs schema.sql only when the schema table is missing, so a fast start creates the schema of an empty database
+     * and keeps the data of an existing one. Without a schema table schema.sql runs as spring.sql.init configures.
+     * Replaces the initializer of SqlInitializationAutoConfiguration. That configuration backs off entirely
+     * with spring.sql.init.mode=never, so the properties are enabled here.
+     */
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer schemaOnceInitializer(DataSource dataSource,
+                                                                        SqlInitializationProperties initProperties,
+                                                                        ServiceSupportProperties properties) {
+        String schemaTable = properties.getFastStart().getSchemaTable();
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, initProperties) {
+            @Override
+            public boolean initializeDatabase() {
+                if (schemaTable != null && tableExists(dataSource, schemaTable)) {
+                    log.info("Table {} exists, schema.sql is skipped", schemaTable);
+                    return false;
+                }
+                return super.initializeDatabase();
+            }
+        };
+    }
+
+    private static boolean tableExists(DataSource dataSource, String table) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // PostgreSQL folds unquoted names to lower case, H2 to upper case
+            for (String name : List.of(table.toLowerCase(Locale.ROOT), table.toUpperCase(Locale.ROOT))) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name,
+                        new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Failed to check whether table " + table + " exists", exception);
+        }
+    }
+}
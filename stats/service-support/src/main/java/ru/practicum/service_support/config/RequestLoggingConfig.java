@@ -0,0 +1,14 @@
+package ru.practicum.service_support.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.service_support.ServiceSupportProperties;
+import ru.practicum.service_support.monitoring.SampledRequestLoggingFilter;
+
+@Configuration
+public class RequestLoggingConfig {
+    @Bean
+    public SampledRequestLoggingFilter sampledRequestLoggingFilter(ServiceSupportProperties properties) {
+        return new SampledRequestLoggingFilter(properties.getRequestLog().getSampleRate());
+    }
+}
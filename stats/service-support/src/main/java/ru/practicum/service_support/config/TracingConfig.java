@@ -0,0 +1,33 @@
+package ru.practicum.service_support.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+    private static final Logger SPAN_LOG = LoggerFactory.getLogger("tracing.spans");
+
+    /**
+     * Writes every finished span as a Zipkin JSON v2 line to the tracing.spans logger while no Zipkin collector
+     * is configured, so traces can be inspected without running one.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.zipkin.enabled", havingValue = "false")
+    public SpanHandler spanLogHandler() {
+        return new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                if (SPAN_LOG.isInfoEnabled()) {
+                    SPAN_LOG.info("{}", span);
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.service_support.config;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.service_support.ServiceSupportProperties;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every Tomcat request on its own virtual thread when virtual-threads.enabled is set, so requests blocked
+ * on JDBC or on another service no longer hold one of the server.tomcat.threads.max platform threads.
+ * The datasource and HTTP client pools become the concurrency limits instead.
+ */
+@Configuration
+public class VirtualThreadsConfig {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsCustomizer(ServiceSupportProperties properties) {
+        if (!properties.getVirtualThreads().isEnabled()) {
+            return protocolHandler -> {
+            };
+        }
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Looked up reflectively, the sources still compile for Java 11.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Virtual threads require a Java 21 runtime, the current one is " +
+                    Runtime.version(), exception);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.service_support.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs one line per request for a random sample of requests and for every server error,
+ * instead of logging the parameters of every call.
+ */
+@Slf4j
+public class SampledRequestLoggingFilter extends OncePerRequestFilter {
+    private final double sampleRate;
+
+    public SampledRequestLoggingFilter(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long startNanos = System.nanoTime();
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int status = response.getStatus();
+            if (sampled || status >= 500) {
+                log.info("{} {} responded {} in {} ms", request.getMethod(), request.getRequestURI(), status,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+        }
+    }
+}
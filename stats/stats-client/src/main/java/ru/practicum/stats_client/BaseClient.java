@@ -1,5 +1,6 @@
 package ru.practicum.stats_client;
 
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -14,39 +15,54 @@ import java.util.Map;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    private final List<MediaType> acceptableMediaTypes;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, List.of(MediaType.APPLICATION_JSON));
+    }
+
+    public BaseClient(RestTemplate rest, List<MediaType> acceptableMediaTypes) {
         this.rest = rest;
+        this.acceptableMediaTypes = acceptableMediaTypes;
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, null, body);
     }
 
+    protected <T, R> ResponseEntity<R> post(String path, T body, ParameterizedTypeReference<R> responseType) {
+        return exchange(HttpMethod.POST, path, null, body, responseType);
+    }
+
     protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, parameters, null);
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders());
         ResponseEntity<Object> statsServerResponse;
         try {
-            if (parameters != null) {
-                statsServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                statsServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            statsServerResponse = exchange(method, path, parameters, body,
+                    ParameterizedTypeReference.forType(Object.class));
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(statsServerResponse);
     }
 
+    private <T, R> ResponseEntity<R> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                              @Nullable T body, ParameterizedTypeReference<R> responseType) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders());
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
+        }
+        return rest.exchange(path, method, requestEntity, responseType);
+    }
+
     private HttpHeaders defaultHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(acceptableMediaTypes);
         return headers;
     }
 
@@ -63,4 +79,4 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package ru.practicum.stats_client;
+
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.stats_common.StatsCommonUtils;
+import ru.practicum.stats_common.model.EndpointHit;
+import ru.practicum.stats_common.model.StatsQuery;
+import ru.practicum.stats_common.model.ViewStats;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link StatsClient}. Shares its settings and circuit breaker,
+ * so a stats-service outage seen by either client short-circuits both.
+ */
+@Service
+@Slf4j
+public class ReactiveStatsClient {
+    private static final ParameterizedTypeReference<List<ViewStats>> VIEW_STATS_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private static final ParameterizedTypeReference<Map<Long, Long>> EVENT_HITS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+    private final StatsCircuitBreaker circuitBreaker;
+    private final StatsClientMetrics metrics;
+
+    public ReactiveStatsClient(StatsClientProperties properties, WebClient.Builder builder,
+                               ConnectionProvider statsReactiveConnectionProvider,
+                               StatsCircuitBreaker circuitBreaker, StatsClientMetrics metrics) {
+        HttpClient httpClient = HttpClient.create(statsReactiveConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        List<MediaType> acceptableMediaTypes = StatsClient.acceptableMediaTypes(properties);
+
+        this.webClient = builder
+                .baseUrl(properties.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeaders(headers -> {
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                    headers.setAccept(acceptableMediaTypes);
+                })
+                .build();
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+    }
+
+    public Mono<Void> addHit(String appName, String uri, String ip, LocalDateTime timestamp) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending a request to register an appeal to appName = {}, uri = {}, ip = {}, timestamp = {}",
+                    appName, uri, ip, timestamp);
+        }
+
+        EndpointHit endpointHit = EndpointHit.builder()
+                .app(appName)
+                .uri(uri)
+                .ip(ip)
+                .timestamp(timestamp.format(StatsCommonUtils.DT_FORMATTER))
+                .build();
+        return callStatsServer(StatsCommonUtils.HIT_ENDPOINT, webClient.post()
+                .uri(StatsCommonUtils.HIT_ENDPOINT)
+                .bodyValue(endpointHit)
+                .retrieve()
+                .bodyToMono(Void.class));
+    }
+
+    public Mono<List<ViewStats>> getStats(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                          Boolean unique) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending a request to get statistics on parameters start = {}, end = {}, uris = {}, unique = {}",
+                    start, end, uris, unique);
+        }
+
+        StatsQuery statsQuery = StatsQueries.byUris(start, end, uris, unique);
+
+        return callStatsServer(StatsCommonUtils.STATS_QUERY_ENDPOINT, webClient.post()
+                .uri(StatsCommonUtils.STATS_QUERY_ENDPOINT)
+                .bodyValue(statsQuery)
+                .retrieve()
+                .bodyToMono(VIEW_STATS_LIST))
+                .defaultIfEmpty(List.of());
+    }
+
+    public Mono<Map<Long, Long>> getEventHits(LocalDateTime start, LocalDateTime end, Collection<Long> eventIds,
+                                              Boolean unique) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending a request to count hits of {} events on parameters start = {}, end = {}, unique = {}",
+                    eventIds.size(), start, end, unique);
+        }
+
+        StatsQuery statsQuery = StatsQueries.byEventIds(start, end, eventIds, unique);
+
+        return callStatsServer(StatsCommonUtils.EVENT_HITS_ENDPOINT, webClient.post()
+                .uri(StatsCommonUtils.EVENT_HITS_ENDPOINT)
+                .bodyValue(statsQuery)
+                .retrieve()
+                .bodyToMono(EVENT_HITS))
+                .defaultIfEmpty(Map.of());
+    }
+
+    private <T> Mono<T> callStatsServer(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = metrics.start();
+            if (!circuitBreaker.allowRequest()) {
+                metrics.stop(sample, StatsClientMetrics.REACTIVE, endpoint, StatsClientMetrics.REJECTED);
+                return Mono.error(new StatsServerUnavailableException("The statistics server circuit is open."));
+            }
+
+            // A cancelled call, usually a caller's timeout, counts as a failure so that a trial call always ends
+            return call
+                    .doOnSuccess(result -> circuitBreaker.recordSuccess())
+                    .doOnError(this::recordError)
+                    .doOnCancel(circuitBreaker::recordFailure)
+                    .onErrorMap(this::isUnavailable, exception ->
+                            new StatsServerUnavailableException("The statistics server is unavailable: " +
+                                    exception.getMessage(), exception))
+                    .doOnSuccess(result ->
+                            metrics.stop(sample, StatsClientMetrics.REACTIVE, endpoint, StatsClientMetrics.SUCCESS))
+                    .doOnError(exception ->
+                            metrics.stop(sample, StatsClientMetrics.REACTIVE, endpoint,
+                                    StatsClientMetrics.outcome(exception)));
+        });
+    }
+
+    /**
+     * Any HTTP response other than 5xx proves that the server is reachable.
+     */
+    private void recordError(Throwable exception) {
+        if (exception instanceof WebClientResponseException && !isUnavailable(exception)) {
+            circuitBreaker.recordSuccess();
+        } else {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private boolean isUnavailable(Throwable exception) {
+        return exception instanceof WebClientRequestException ||
+                (exception instanceof WebClientResponseException &&
+                        ((WebClientResponseException) exception).getStatusCode().is5xxServerError());
+    }
+}
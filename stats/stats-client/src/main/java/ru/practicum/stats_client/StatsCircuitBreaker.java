@@ -0,0 +1,69 @@
+package ru.practicum.stats_client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal consecutive-failures circuit breaker guarding calls to stats-service.
+ * After the open period expires exactly one trial call is allowed; its outcome closes or re-opens the circuit.
+ * The clients record an outcome for every call they let through, otherwise a trial call would keep the circuit
+ * open for another period.
+ */
+@Slf4j
+public class StatsCircuitBreaker {
+    private static final long CLOSED = 0L;
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntil = new AtomicLong(CLOSED);
+    private final LongSupplier nanoClock;
+
+    public StatsCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    StatsCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean allowRequest() {
+        long until = openUntil.get();
+        if (until == CLOSED) {
+            return true;
+        }
+
+        long now = nanoClock.getAsLong();
+        if (now - until < 0) {
+            return false;
+        }
+
+        return openUntil.compareAndSet(until, now + openDurationNanos);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (openUntil.getAndSet(CLOSED) != CLOSED) {
+            log.info("Statistics server is available again, the circuit is closed.");
+        }
+    }
+
+    public void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            long until = nanoClock.getAsLong() + openDurationNanos;
+            if (openUntil.getAndSet(until) == CLOSED) {
+                log.warn("Statistics server failed {} times in a row, the circuit is open.", failureThreshold);
+            }
+        }
+    }
+
+    public boolean isOpen() {
+        return openUntil.get() != CLOSED;
+    }
+}
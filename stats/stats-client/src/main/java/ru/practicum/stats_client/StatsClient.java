@@ -1,35 +1,74 @@
 package ru.practicum.stats_client;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.stats_common.StatsCommonUtils;
 import ru.practicum.stats_common.model.EndpointHit;
+import ru.practicum.stats_common.model.StatsQuery;
+import ru.practicum.stats_common.model.ViewStats;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 public class StatsClient extends BaseClient {
+    /**
+     * Compact binary JSON encoding, served by stats-service through Jackson Smile.
+     */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final ParameterizedTypeReference<List<ViewStats>> VIEW_STATS_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private static final ParameterizedTypeReference<Map<Long, Long>> EVENT_HITS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final StatsCircuitBreaker circuitBreaker;
+    private final StatsClientMetrics metrics;
+
     @Autowired
-    public StatsClient(@Value("${stats-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public StatsClient(StatsClientProperties properties, RestTemplateBuilder builder, HttpClient statsHttpClient,
+                       StatsCircuitBreaker circuitBreaker, StatsClientMetrics metrics) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl()))
+                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(statsHttpClient))
+                        .build(),
+                acceptableMediaTypes(properties)
         );
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+    }
+
+    static List<MediaType> acceptableMediaTypes(StatsClientProperties properties) {
+        return properties.isSmile()
+                ? List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+                : List.of(MediaType.APPLICATION_JSON);
     }
 
     public ResponseEntity<Object> addHit(String appName, String uri, String ip, LocalDateTime timestamp) {
-        log.info("Sending a request to register an appeal to appName = {}, uri = {}, ip = {}, timestamp = {}",
-                appName, uri, ip, timestamp);
+        if (log.isDebugEnabled()) {
+            log.debug("Sending a request to register an appeal to appName = {}, uri = {}, ip = {}, timestamp = {}",
+                    appName, uri, ip, timestamp);
+        }
 
         EndpointHit endpointHit = EndpointHit.builder()
                 .app(appName)
@@ -37,44 +76,80 @@ public class StatsClient extends BaseClient {
                 .ip(ip)
                 .timestamp(timestamp.format(StatsCommonUtils.DT_FORMATTER))
                 .build();
-        return post(StatsCommonUtils.HIT_ENDPOINT, endpointHit);
+        return callStatsServer(StatsCommonUtils.HIT_ENDPOINT, () -> {
+            ResponseEntity<Object> response = post(StatsCommonUtils.HIT_ENDPOINT, endpointHit);
+            if (response.getStatusCode().is5xxServerError()) {
+                throw new HttpServerErrorException(response.getStatusCode());
+            }
+            return response;
+        });
     }
 
-    public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
         return getStats(start, end, uris, null);
     }
 
-    public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end) {
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end) {
         return getStats(start, end, null, null);
     }
 
-    public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, Boolean unique) {
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, Boolean unique) {
         return getStats(start, end, null, unique);
     }
 
-    public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-        log.info("Sending a request to get statistics on parameters start = {}, end = {}, uris = {}, unique = {}",
-                start, end, uris, unique);
-
-        if (start == null || end == null || start.isAfter(end)) {
-            throw new IllegalArgumentException("Invalid time interval.");
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending a request to get statistics on parameters start = {}, end = {}, uris = {}, unique = {}",
+                    start, end, uris, unique);
         }
 
-        StringBuilder uriBuilder = new StringBuilder(StatsCommonUtils.STATS_ENDPOINT + "?start={start}&end={end}");
-        Map<String, Object> parameters = Map.of(
-                "start", start.format(StatsCommonUtils.DT_FORMATTER),
-                "end", end.format(StatsCommonUtils.DT_FORMATTER)
-        );
+        StatsQuery statsQuery = StatsQueries.byUris(start, end, uris, unique);
+        ResponseEntity<List<ViewStats>> response = callStatsServer(StatsCommonUtils.STATS_QUERY_ENDPOINT, () ->
+                post(StatsCommonUtils.STATS_QUERY_ENDPOINT, statsQuery, VIEW_STATS_LIST));
 
-        if (uris != null && !uris.isEmpty()) {
-            for (String uri : uris) {
-                uriBuilder.append("&uris=").append(uri);
-            }
+        return Objects.requireNonNullElse(response.getBody(), List.of());
+    }
+
+    public Map<Long, Long> getEventHits(LocalDateTime start, LocalDateTime end, Collection<Long> eventIds,
+                                        Boolean unique) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending a request to count hits of {} events on parameters start = {}, end = {}, unique = {}",
+                    eventIds.size(), start, end, unique);
         }
-        if (unique != null) {
-            uriBuilder.append("&unique=").append(unique);
+
+        StatsQuery statsQuery = StatsQueries.byEventIds(start, end, eventIds, unique);
+        ResponseEntity<Map<Long, Long>> response = callStatsServer(StatsCommonUtils.EVENT_HITS_ENDPOINT, () ->
+                post(StatsCommonUtils.EVENT_HITS_ENDPOINT, statsQuery, EVENT_HITS));
+
+        return Objects.requireNonNullElse(response.getBody(), Map.of());
+    }
+
+    private <T> T callStatsServer(String endpoint, Supplier<T> call) {
+        Timer.Sample sample = metrics.start();
+        if (!circuitBreaker.allowRequest()) {
+            metrics.stop(sample, StatsClientMetrics.BLOCKING, endpoint, StatsClientMetrics.REJECTED);
+            throw new StatsServerUnavailableException("The statistics server circuit is open.");
         }
 
-        return get(uriBuilder.toString(), parameters);
+        try {
+            T result = call.get();
+            circuitBreaker.recordSuccess();
+            metrics.stop(sample, StatsClientMetrics.BLOCKING, endpoint, StatsClientMetrics.SUCCESS);
+            return result;
+        } catch (ResourceAccessException | HttpServerErrorException exception) {
+            circuitBreaker.recordFailure();
+            metrics.stop(sample, StatsClientMetrics.BLOCKING, endpoint, StatsClientMetrics.UNAVAILABLE);
+            throw new StatsServerUnavailableException("The statistics server is unavailable: " +
+                    exception.getMessage(), exception);
+        } catch (RestClientResponseException exception) {
+            // Any other HTTP response proves that the server is reachable
+            circuitBreaker.recordSuccess();
+            metrics.stop(sample, StatsClientMetrics.BLOCKING, endpoint, StatsClientMetrics.ERROR);
+            throw exception;
+        } catch (RuntimeException exception) {
+            circuitBreaker.recordFailure();
+            metrics.stop(sample, StatsClientMetrics.BLOCKING, endpoint, StatsClientMetrics.ERROR);
+            throw exception;
+        }
     }
 }
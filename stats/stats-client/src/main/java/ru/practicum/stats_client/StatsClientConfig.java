@@ -0,0 +1,76 @@
+package ru.practicum.stats_client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(StatsClientProperties.class)
+public class StatsClientConfig {
+    private static final String POOL_NAME = "stats-client";
+    private static final String REACTIVE_POOL_NAME = "stats-client-reactive";
+
+    @Bean
+    public PoolingHttpClientConnectionManager statsConnectionManager(StatsClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient statsHttpClient(StatsClientProperties properties,
+                                               PoolingHttpClientConnectionManager statsConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+        long keepAlive = properties.getKeepAlive().toMillis();
+
+        return HttpClients.custom()
+                .setConnectionManager(statsConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider statsReactiveConnectionProvider(StatsClientProperties properties) {
+        return ConnectionProvider.builder(REACTIVE_POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getKeepAlive())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public StatsCircuitBreaker statsCircuitBreaker(StatsClientProperties properties) {
+        return new StatsCircuitBreaker(properties.getCircuitBreaker().getFailureThreshold(),
+                properties.getCircuitBreaker().getOpenDuration());
+    }
+
+    @Bean
+    public MeterBinder statsConnectionPoolMetrics(PoolingHttpClientConnectionManager statsConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(statsConnectionManager, POOL_NAME);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.stats_client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timer of the calls to stats-service, tagged by client, endpoint and outcome. Unlike http.client.requests it
+ * also counts calls the circuit breaker rejected without touching the network.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatsClientMetrics {
+    static final String BLOCKING = "blocking";
+    static final String REACTIVE = "reactive";
+
+    static final String SUCCESS = "success";
+    static final String REJECTED = "rejected";
+    static final String UNAVAILABLE = "unavailable";
+    static final String ERROR = "error";
+
+    private static final String TIMER_NAME = "stats.client.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String client, String endpoint, String outcome) {
+        sample.stop(Timer.builder(TIMER_NAME)
+                .tag("client", client)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    static String outcome(Throwable exception) {
+        return exception instanceof StatsServerUnavailableException ? UNAVAILABLE : ERROR;
+    }
+}
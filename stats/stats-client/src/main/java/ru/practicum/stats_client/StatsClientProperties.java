@@ -0,0 +1,53 @@
+package ru.practicum.stats_client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "stats-server")
+@Getter
+@Setter
+public class StatsClientProperties {
+    private String url;
+
+    /**
+     * Whether to ask stats-service for Smile encoded responses before falling back to JSON.
+     */
+    private boolean smile = false;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(2);
+
+    /**
+     * How long a caller may wait for a free connection from the pool.
+     */
+    private Duration connectionRequestTimeout = Duration.ofMillis(500);
+
+    private int maxConnections = 50;
+
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * Idle time after which a pooled connection is closed unless the server asks for less.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        /**
+         * Consecutive failed calls after which stats-service is no longer called.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long the circuit stays open before a single trial call is let through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.stats_client;
+
+import ru.practicum.stats_common.StatsCommonUtils;
+import ru.practicum.stats_common.model.StatsQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+final class StatsQueries {
+    private StatsQueries() {
+    }
+
+    static StatsQuery byUris(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        checkInterval(start, end);
+
+        return StatsQuery.builder()
+                .start(start.format(StatsCommonUtils.DT_FORMATTER))
+                .end(end.format(StatsCommonUtils.DT_FORMATTER))
+                .uris(uris)
+                .unique(unique)
+                .build();
+    }
+
+    static StatsQuery byEventIds(LocalDateTime start, LocalDateTime end, Collection<Long> eventIds, Boolean unique) {
+        checkInterval(start, end);
+
+        return StatsQuery.builder()
+                .start(start.format(StatsCommonUtils.DT_FORMATTER))
+                .end(end.format(StatsCommonUtils.DT_FORMATTER))
+                .eventIds(new ArrayList<>(eventIds))
+                .unique(unique)
+                .build();
+    }
+
+    private static void checkInterval(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new IllegalArgumentException("Invalid time interval.");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.stats_client;
+
+public class StatsServerUnavailableException extends RuntimeException {
+    public StatsServerUnavailableException(String message) {
+        super(message);
+    }
+
+    public StatsServerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
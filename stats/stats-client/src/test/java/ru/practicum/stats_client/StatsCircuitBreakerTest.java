@@ -0,0 +1,92 @@
+package ru.practicum.stats_client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatsCircuitBreakerTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private final AtomicLong now = new AtomicLong(1_000L);
+    private StatsCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new StatsCircuitBreaker(3, OPEN_DURATION, now::get);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertFalse(circuitBreaker.isOpen());
+
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.isOpen());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+
+        assertFalse(circuitBreaker.isOpen());
+    }
+
+    @Test
+    void allowsOneTrialCallAfterOpenPeriod() {
+        open();
+        elapse(OPEN_DURATION.minusMillis(1));
+        assertFalse(circuitBreaker.allowRequest());
+
+        elapse(Duration.ofMillis(1));
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void successfulTrialClosesCircuit() {
+        open();
+        elapse(OPEN_DURATION);
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordSuccess();
+
+        assertFalse(circuitBreaker.isOpen());
+        assertTrue(circuitBreaker.allowRequest());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void failedTrialReopensCircuitForAnotherPeriod() {
+        open();
+        elapse(OPEN_DURATION);
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure();
+
+        assertTrue(circuitBreaker.isOpen());
+        elapse(OPEN_DURATION.minusMillis(1));
+        assertFalse(circuitBreaker.allowRequest());
+        elapse(Duration.ofMillis(1));
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private void elapse(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
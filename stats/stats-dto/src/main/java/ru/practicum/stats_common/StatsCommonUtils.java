@@ -7,4 +7,7 @@ public abstract class StatsCommonUtils {
     public static final DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern(DT_FORMAT);
     public static final String HIT_ENDPOINT = "/hit";
     public static final String STATS_ENDPOINT = "/stats";
-}
\ No newline at end of file
+    public static final String STATS_QUERY_ENDPOINT = "/stats/query";
+    public static final String EVENT_HITS_ENDPOINT = "/stats/query/events";
+    public static final String EVENT_URI_PREFIX = "/events/";
+}
@@ -0,0 +1,45 @@
+package ru.practicum.stats_common.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.validation.constraints.NotBlank;
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class StatsQuery {
+    @NotBlank
+    String start;
+
+    @NotBlank
+    String end;
+
+    List<String> uris;
+
+    List<Long> eventIds;
+
+    Boolean unique;
+
+    @Override
+    public String toString() {
+        return "StatsQuery{" +
+                "start='" + start + '\'' +
+                ", end='" + end + '\'' +
+                ", uris=" + (uris == null ? 0 : uris.size()) +
+                ", eventIds=" + (eventIds == null ? 0 : eventIds.size()) +
+                ", unique=" + unique +
+                '}';
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.stats_server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import ru.practicum.service_support.ServiceSupportProperties;
+import ru.practicum.service_support.config.FastStartConfig;
+import ru.practicum.service_support.config.RequestLoggingConfig;
+import ru.practicum.service_support.config.TracingConfig;
+import ru.practicum.service_support.config.VirtualThreadsConfig;
+
+/**
+ * Infrastructure shared with the main service, see the service-support module. Its settings are read
+ * from the stats. prefix.
+ */
+@Configuration
+@Import({TracingConfig.class, RequestLoggingConfig.class, VirtualThreadsConfig.class, FastStartConfig.class})
+public class ServiceSupportConfig {
+    @Bean
+    @ConfigurationProperties("stats")
+    public ServiceSupportProperties serviceSupportProperties() {
+        return new ServiceSupportProperties();
+    }
+}
@@ -11,22 +11,32 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.stats_common.StatsCommonUtils;
 import ru.practicum.stats_common.model.EndpointHit;
+import ru.practicum.stats_common.model.StatsQuery;
 import ru.practicum.stats_common.model.ViewStats;
+import ru.practicum.stats_server.service.HitIngestionMetrics;
 import ru.practicum.stats_server.service.StatsService;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
 public class StatsController {
     private final StatsService statsService;
+    private final HitIngestionMetrics hitIngestionMetrics;
 
     @PostMapping(StatsCommonUtils.HIT_ENDPOINT)
     @ResponseStatus(HttpStatus.CREATED)
     public void addHit(@Valid @RequestBody EndpointHit endpointHit) {
-        statsService.addHit(endpointHit);
+        hitIngestionMetrics.started();
+        try {
+            statsService.addHit(endpointHit);
+        } finally {
+            hitIngestionMetrics.finished();
+        }
     }
 
     @GetMapping(StatsCommonUtils.STATS_ENDPOINT)
@@ -34,9 +44,45 @@ public class StatsController {
                                     @RequestParam @DateTimeFormat(pattern = StatsCommonUtils.DT_FORMAT) LocalDateTime end,
                                     @RequestParam(required = false) List<String> uris,
                                     @RequestParam(required = false, defaultValue = "false") Boolean unique) {
+        checkStartIsBeforeEnd(start, end);
+        return statsService.getStats(start, end, uris, unique);
+    }
+
+    @PostMapping(StatsCommonUtils.STATS_QUERY_ENDPOINT)
+    public List<ViewStats> queryStats(@Valid @RequestBody StatsQuery statsQuery) {
+        LocalDateTime start = LocalDateTime.parse(statsQuery.getStart(), StatsCommonUtils.DT_FORMATTER);
+        LocalDateTime end = LocalDateTime.parse(statsQuery.getEnd(), StatsCommonUtils.DT_FORMATTER);
+        checkStartIsBeforeEnd(start, end);
+
+        // An explicit empty list of events asks for nothing, while no uris at all means every uri
+        if (statsQuery.getEventIds() != null && statsQuery.getEventIds().isEmpty()
+                && (statsQuery.getUris() == null || statsQuery.getUris().isEmpty())) {
+            return List.of();
+        }
+
+        List<String> uris = new ArrayList<>();
+        if (statsQuery.getUris() != null) {
+            uris.addAll(statsQuery.getUris());
+        }
+        if (statsQuery.getEventIds() != null) {
+            statsQuery.getEventIds().forEach(id -> uris.add(StatsCommonUtils.EVENT_URI_PREFIX + id));
+        }
+        return statsService.getStats(start, end, uris, Boolean.TRUE.equals(statsQuery.getUnique()));
+    }
+
+    @PostMapping(StatsCommonUtils.EVENT_HITS_ENDPOINT)
+    public Map<Long, Long> queryEventHits(@Valid @RequestBody StatsQuery statsQuery) {
+        LocalDateTime start = LocalDateTime.parse(statsQuery.getStart(), StatsCommonUtils.DT_FORMATTER);
+        LocalDateTime end = LocalDateTime.parse(statsQuery.getEnd(), StatsCommonUtils.DT_FORMATTER);
+        checkStartIsBeforeEnd(start, end);
+
+        return statsService.getEventHits(start, end,
+                statsQuery.getEventIds() == null ? List.of() : statsQuery.getEventIds(), statsQuery.getUnique());
+    }
+
+    private void checkStartIsBeforeEnd(LocalDateTime start, LocalDateTime end) {
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Invalid time interval.");
         }
-        return statsService.getStats(start, end, uris, unique);
     }
 }
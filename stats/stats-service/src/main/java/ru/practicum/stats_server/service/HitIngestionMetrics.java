@@ -0,0 +1,32 @@
+package ru.practicum.stats_server.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Backlog of hit ingestion: hits accepted by the controller whose insert has not finished yet.
+ * A growing value means the database does not keep up with the incoming hits.
+ */
+@Component
+public class HitIngestionMetrics implements MeterBinder {
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stats.hits.in-flight", inFlight, AtomicInteger::get)
+                .description("Hits being saved right now")
+                .register(registry);
+    }
+
+    public void started() {
+        inFlight.incrementAndGet();
+    }
+
+    public void finished() {
+        inFlight.decrementAndGet();
+    }
+}
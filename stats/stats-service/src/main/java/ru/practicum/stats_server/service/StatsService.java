@@ -5,9 +5,12 @@ import ru.practicum.stats_common.model.ViewStats;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface StatsService {
     void addHit(EndpointHit endpointHit);
 
     List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
+
+    Map<Long, Long> getEventHits(LocalDateTime start, LocalDateTime end, List<Long> eventIds, Boolean unique);
 }
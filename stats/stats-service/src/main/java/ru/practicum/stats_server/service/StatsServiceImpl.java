@@ -11,7 +11,10 @@ import ru.practicum.stats_server.mapper.StatsMapper;
 import ru.practicum.stats_server.storage.StatsRepository;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,7 +27,7 @@ public class StatsServiceImpl implements StatsService {
     @Override
     @Transactional
     public void addHit(EndpointHit endpointHit) {
-        log.info("Registration of an appeal to {}", endpointHit);
+        log.debug("Registration of an appeal to {}", endpointHit);
 
         statsRepository.save(statsMapper.toStats(endpointHit,
                 LocalDateTime.parse(endpointHit.getTimestamp(), StatsCommonUtils.DT_FORMATTER)));
@@ -32,8 +35,10 @@ public class StatsServiceImpl implements StatsService {
 
     @Override
     public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-        log.info("Displaying a list of requests by parameters start = {}, end = {}, uris = {}, unique = {}",
-                start, end, uris, unique);
+        if (log.isDebugEnabled()) {
+            log.debug("Displaying a list of requests by parameters start = {}, end = {}, uris = {}, unique = {}",
+                    start, end, uris, unique);
+        }
 
         if (uris == null || uris.isEmpty()) {
             if (unique) {
@@ -49,4 +54,34 @@ public class StatsServiceImpl implements StatsService {
             }
         }
     }
+
+    @Override
+    public Map<Long, Long> getEventHits(LocalDateTime start, LocalDateTime end, List<Long> eventIds, Boolean unique) {
+        if (log.isDebugEnabled()) {
+            log.debug("Counting hits of {} events by parameters start = {}, end = {}, unique = {}",
+                    eventIds.size(), start, end, unique);
+        }
+
+        Map<Long, Long> hits = new HashMap<>();
+
+        if (eventIds.isEmpty()) {
+            return hits;
+        }
+
+        List<String> uris = eventIds.stream()
+                .map(id -> StatsCommonUtils.EVENT_URI_PREFIX + id)
+                .collect(Collectors.toList());
+
+        List<Object[]> results = Boolean.TRUE.equals(unique)
+                ? statsRepository.countHitsByUrisDistinctIp(start, end, uris)
+                : statsRepository.countHitsByUris(start, end, uris);
+
+        for (Object[] result : results) {
+            String uri = (String) result[0];
+            Long count = (Long) result[1];
+            hits.put(Long.parseLong(uri.substring(StatsCommonUtils.EVENT_URI_PREFIX.length())), count);
+        }
+
+        return hits;
+    }
 }
@@ -38,4 +38,18 @@ public interface StatsRepository extends JpaRepository<Stats, Long> {
             "GROUP BY s.app, s.uri " +
             "ORDER BY COUNT(s.ip) DESC")
     List<ViewStats> getStatsByUris(LocalDateTime start, LocalDateTime end, List<String> uri);
+
+    @Query("SELECT s.uri, COUNT(DISTINCT s.ip) " +
+            "FROM Stats AS s " +
+            "WHERE s.timestamp BETWEEN ?1 AND ?2 " +
+            "AND s.uri IN (?3) " +
+            "GROUP BY s.uri")
+    List<Object[]> countHitsByUrisDistinctIp(LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    @Query("SELECT s.uri, COUNT(s.ip) " +
+            "FROM Stats AS s " +
+            "WHERE s.timestamp BETWEEN ?1 AND ?2 " +
+            "AND s.uri IN (?3) " +
+            "GROUP BY s.uri")
+    List<Object[]> countHitsByUris(LocalDateTime start, LocalDateTime end, List<String> uris);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 DROP TABLE IF EXISTS stats;
+DROP SEQUENCE IF EXISTS stats_seq;
+
+CREATE SEQUENCE IF NOT EXISTS stats_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS stats (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     app_name VARCHAR(255) NOT NULL,
     user_ip VARCHAR(15) NOT NULL,
     created TIMESTAMP NOT NULL,